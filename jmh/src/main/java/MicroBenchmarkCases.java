@@ -0,0 +1,118 @@
+import java.util.List;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * The cases of {@link MicroBenchmark}, set up for the JMH benchmarks in the {@code benchmarks}
+ * package. JMH doesn't allow benchmarks in the default package, and classes in other packages
+ * can't refer to the classes of the program, so every case is returned as a type of the JDK.
+ * <p>
+ * Terrains are given by preset name, size in the form WxH, and seed, the same as the options of
+ * {@link MicroBenchmark}. Pathfinders are given by their full names.
+ *
+ * @since v1.5.27
+ */
+public class MicroBenchmarkCases {
+    /**
+     * Returns an operation that searches a terrain with a new pathfinder.
+     *
+     * @param preset    The name of the terrain.
+     * @param size      The size of the terrain.
+     * @param seed      The seed to generate the terrain with.
+     * @param algorithm The name of the pathfinder.
+     * @return The operation, returning 1 for the search.
+     */
+    public static LongSupplier search(String preset, String size, int seed, String algorithm) {
+        Terrain terrain = createTerrain(preset, size, seed);
+        return MicroBenchmark.searchCase(terrain.toGraph(0), getAlgorithm(algorithm), terrain.getStart(),
+                terrain.getTarget());
+    }
+
+    /**
+     * Returns a setup that creates and initializes a new pathfinder, and returns an operation that
+     * steps it until it's done.
+     *
+     * @param preset    The name of the terrain.
+     * @param size      The size of the terrain.
+     * @param seed      The seed to generate the terrain with.
+     * @param algorithm The name of the pathfinder.
+     * @return The setup, whose operation returns the number of steps taken.
+     */
+    public static Supplier<LongSupplier> step(String preset, String size, int seed, String algorithm) {
+        Terrain terrain = createTerrain(preset, size, seed);
+        return MicroBenchmark.stepCase(terrain.toGraph(0), getAlgorithm(algorithm), terrain.getStart(),
+                terrain.getTarget());
+    }
+
+    /**
+     * Returns an operation that expands every cell of a terrain.
+     *
+     * @param preset The name of the terrain.
+     * @param size   The size of the terrain.
+     * @param seed   The seed to generate the terrain with.
+     * @return The operation, returning the number of neighbors looked up.
+     */
+    public static LongSupplier neighbors(String preset, String size, int seed) {
+        return MicroBenchmark.neighborsCase(createTerrain(preset, size, seed).toGraph(0));
+    }
+
+    /**
+     * Returns an operation that reads the cost of every cell of a grid holding a terrain.
+     *
+     * @param preset The name of the terrain.
+     * @param size   The size of the terrain.
+     * @param seed   The seed to generate the terrain with.
+     * @return The operation, returning the number of cells read.
+     */
+    public static LongSupplier costLookup(String preset, String size, int seed) {
+        return MicroBenchmark.costLookupCase(createTerrain(preset, size, seed));
+    }
+
+    /**
+     * Returns an operation that paints a grid laid out like the one in the window.
+     *
+     * @param seed   The seed to generate the terrain with.
+     * @param raster Whether the grid is painted in raster mode.
+     * @param costs  Whether the cell costs are shown.
+     * @return The operation, returning 1 for the paint.
+     */
+    public static LongSupplier paint(int seed, boolean raster, boolean costs) {
+        SimpleGrid grid = MicroBenchmark.createRenderedGrid(seed);
+        grid.setRasterMode(raster);
+        if (costs) {
+            MicroBenchmark.showCosts(grid);
+        }
+        return MicroBenchmark.paintCase(grid);
+    }
+
+    /**
+     * Generates a preset terrain.
+     *
+     * @param preset The name of the terrain.
+     * @param size   The size of the terrain, in the form WxH.
+     * @param seed   The seed to generate the terrain with.
+     * @return The terrain.
+     */
+    private static Terrain createTerrain(String preset, String size, int seed) {
+        String[] dimensions = size.split("x");
+        return Presets.create(preset, Integer.parseInt(dimensions[0]), Integer.parseInt(dimensions[1]), seed);
+    }
+
+    /**
+     * Returns a factory of new pathfinders with the given name.
+     *
+     * @param name The full name of the pathfinder.
+     * @return Creates a new pathfinder every time, so that none reuse data from earlier searches.
+     * @throws IllegalArgumentException If there is no pathfinder with the given name.
+     */
+    private static Supplier<Pathfinder> getAlgorithm(String name) {
+        List<Pathfinder> pathfinders = Main.createPathfinders();
+        for (int i = 0; i < pathfinders.size(); i++) {
+            if (pathfinders.get(i).toString().equals(name)) {
+                int index = i;
+                return () -> Main.createPathfinders().get(index);
+            }
+        }
+        throw new IllegalArgumentException("Unknown algorithm: " + name);
+    }
+}
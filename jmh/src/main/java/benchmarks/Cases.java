@@ -0,0 +1,43 @@
+package benchmarks;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+
+/**
+ * Looks up the cases set up by {@code MicroBenchmarkCases}. It is in the default package, so it
+ * can't be referred to from here and is only found by name, once when a benchmark is set up.
+ *
+ * @since v1.5.27
+ */
+final class Cases {
+    private Cases() {
+    }
+
+    /**
+     * Sets up a case.
+     *
+     * @param name The name of the method of {@code MicroBenchmarkCases} that sets up the case.
+     * @param args The arguments to the method.
+     * @param <T>  The type of the case.
+     * @return The case.
+     * @throws IllegalArgumentException If there is no such case.
+     */
+    @SuppressWarnings("unchecked")
+    static <T> T create(String name, Object... args) {
+        try {
+            for (Method method : Class.forName("MicroBenchmarkCases").getMethods()) {
+                if (method.getName().equals(name)) {
+                    return (T) method.invoke(null, args);
+                }
+            }
+        } catch (InvocationTargetException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException(e);
+        }
+        throw new IllegalArgumentException("Unknown case: " + name);
+    }
+}
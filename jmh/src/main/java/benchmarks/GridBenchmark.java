@@ -0,0 +1,60 @@
+package benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Reading every cell of seeded presets: expanding each cell's neighbors in a graph, as pathfinders
+ * do, and reading each cell's cost from a grid, as taking a snapshot of the terrain does. Each
+ * operation is one pass over the whole terrain.
+ *
+ * @since v1.5.27
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+public class GridBenchmark {
+    @Param({"Maze", "Randomized"})
+    public String preset;
+
+    @Param("301x201")
+    public String size;
+
+    @Param("0")
+    public int seed;
+
+    private LongSupplier neighbors;
+    private LongSupplier costLookup;
+
+    @Setup
+    public void setup() {
+        this.neighbors = Cases.create("neighbors", this.preset, this.size, this.seed);
+        this.costLookup = Cases.create("costLookup", this.preset, this.size, this.seed);
+    }
+
+    @Benchmark
+    public void neighbors(Blackhole blackhole) {
+        blackhole.consume(this.neighbors.getAsLong());
+    }
+
+    @Benchmark
+    public void costOf(Blackhole blackhole) {
+        blackhole.consume(this.costLookup.getAsLong());
+    }
+}
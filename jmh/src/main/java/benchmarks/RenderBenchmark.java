@@ -0,0 +1,52 @@
+package benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Painting a grid laid out like the one in the window into an image, with a search drawn in every
+ * subgrid. Each operation is one paint of the whole grid.
+ *
+ * @since v1.5.27
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+public class RenderBenchmark {
+    @Param("0")
+    public int seed;
+
+    @Param({"false", "true"})
+    public boolean raster;
+
+    @Param({"false", "true"})
+    public boolean costs;
+
+    private LongSupplier paint;
+
+    @Setup
+    public void setup() {
+        this.paint = Cases.create("paint", this.seed, this.raster, this.costs);
+    }
+
+    @Benchmark
+    public void paint(Blackhole blackhole) {
+        blackhole.consume(this.paint.getAsLong());
+    }
+}
@@ -0,0 +1,58 @@
+package benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Full searches of every pathfinder on seeded presets, as batch queries run them. Each operation is
+ * one search with a new pathfinder.
+ *
+ * @since v1.5.27
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+public class SearchBenchmark {
+    @Param({"Maze", "Randomized"})
+    public String preset;
+
+    @Param("301x201")
+    public String size;
+
+    @Param("0")
+    public int seed;
+
+    @Param({"Dijkstra's Algorithm", "Dial's Algorithm", "Breadth First Search", "A*",
+            "Greedy Best First Search", "A* (Higher Heuristic Weight)", "A* (Tiebreaker)",
+            "A* with Landmarks (ALT)", "A* with Flow Field", "Jump Point Search",
+            "Bidirectional Dijkstra", "Bidirectional A*", "Hierarchical A* (HPA*)", "D* Lite"})
+    public String algorithm;
+
+    private LongSupplier search;
+
+    @Setup
+    public void setup() {
+        this.search = Cases.create("search", this.preset, this.size, this.seed, this.algorithm);
+    }
+
+    @Benchmark
+    public void search(Blackhole blackhole) {
+        blackhole.consume(this.search.getAsLong());
+    }
+}
@@ -0,0 +1,85 @@
+package benchmarks;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Stepping every pathfinder on seeded presets until it's done, as the window does. Each operation
+ * steps a new pathfinder from the start, and the {@code steps} counter reports the rate of single
+ * steps. Creating and initializing the pathfinder isn't measured.
+ *
+ * @since v1.5.27
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+public class StepBenchmark {
+    @Param({"Maze", "Randomized"})
+    public String preset;
+
+    @Param("301x201")
+    public String size;
+
+    @Param("0")
+    public int seed;
+
+    @Param({"Dijkstra's Algorithm", "Dial's Algorithm", "Breadth First Search", "A*",
+            "Greedy Best First Search", "A* (Higher Heuristic Weight)", "A* (Tiebreaker)",
+            "A* with Landmarks (ALT)", "A* with Flow Field", "Jump Point Search",
+            "Bidirectional Dijkstra", "Bidirectional A*", "Hierarchical A* (HPA*)", "D* Lite"})
+    public String algorithm;
+
+    private Supplier<LongSupplier> setup;
+    private LongSupplier steps;
+
+    /**
+     * The number of steps taken, reported as a rate alongside the operations.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class Counters {
+        public long steps;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            this.steps = 0;
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setupTrial() {
+        this.setup = Cases.create("step", this.preset, this.size, this.seed, this.algorithm);
+    }
+
+    // Each invocation takes milliseconds, so the overhead of setting up every one doesn't matter
+    @Setup(Level.Invocation)
+    public void setupInvocation() {
+        this.steps = this.setup.get();
+    }
+
+    @Benchmark
+    public void stepUntilDone(Counters counters, Blackhole blackhole) {
+        long taken = this.steps.getAsLong();
+        counters.steps += taken;
+        blackhole.consume(taken);
+    }
+}
@@ -1,176 +1,248 @@
 import java.awt.Point;
-import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.Arrays;
+import java.util.BitSet;
 import java.util.HashSet;
 import java.util.LinkedList;
 import java.util.List;
-import java.util.Map;
-import java.util.PriorityQueue;
 import java.util.Set;
 
 /**
  * A* Search Algorithm
+ * <p>
+ * All search state is kept in flat arrays indexed by cell (y * width + x), so expanding a node does
+ * not allocate any search objects.
  */
 public class AStar implements Pathfinder {
-    protected static class Node implements Comparable<Node> {
-        public final Point point; // Position of this node
-        public double gScore; // The real cost to reach this node
-        public double fScore; // The total cost to reach this node (including heuristic cost)
-        public Node cameFrom; // Node on the path back to the start
-
-        public Node(Point point) {
-            this.point = point;
-            this.gScore = Double.MAX_VALUE;
-            this.fScore = Double.MAX_VALUE;
-            this.cameFrom = null;
-        }
-
-        @Override
-        public int hashCode() {
-            return this.point.hashCode();
-        }
-
-        @Override
-        public boolean equals(Object o) {
-            if (o == null || getClass() != o.getClass()) {
-                return false;
-            }
-            final Node other = (Node) o;
-            return this.point.equals(other.point);
-        }
-
-        @Override
-        public int compareTo(Node other) {
-            return Double.compare(this.fScore, other.fScore);
-        }
-    }
-
-    private Point target;
-    private PriorityQueue<Node> openSet;
-    private Set<Node> closedSet;
-    private Map<Point, Node> nodes; // Holds the Node objects for points so they can be reused
+    private GridGraph graph;
+    private int width;
+    private int height;
+    private int target; // Cell index of the target
+    private int targetX;
+    private int targetY;
+    private double[] gScore; // The real cost to reach each cell
+    private double[] fScore; // The total cost to reach each cell (including heuristic cost)
+    private int[] cameFrom; // Cell on the path back to the start, or -1 if none
+    private BitSet closedSet;
+    private IndexedHeap openSet; // Ordered by fScore
+    private boolean frontierTracked; // Whether frontier changes are recorded, once they've been asked for
+    private CellBuffer frontierAdded; // Cells added to the open set since the changes were reported
+    private CellBuffer frontierRemoved; // Cells removed from the open set since then
     private List<Point> solutionPath;
 
     @Override
-    public void initialize(Point start, Point target) {
-        this.target = target;
-        this.openSet = new PriorityQueue<>();
-        this.closedSet = new HashSet<>();
-        this.nodes = new HashMap<>();
+    public void initialize(GridGraph graph, Point start, Point target) {
+        int width = graph.getWidth();
+        int height = graph.getHeight();
+        this.graph = graph;
+
+        // Reuse the arrays of the previous search if the grid size hasn't changed
+        if (this.gScore == null || width != this.width || height != this.height) {
+            this.width = width;
+            this.height = height;
+            int size = width * height;
+            this.gScore = new double[size];
+            this.fScore = new double[size];
+            this.cameFrom = new int[size];
+            this.closedSet = new BitSet(size);
+            this.openSet = new IndexedHeap(size, this.fScore);
+            this.frontierAdded = new CellBuffer(width);
+            this.frontierRemoved = new CellBuffer(width);
+        } else {
+            this.closedSet.clear();
+            this.openSet.clear();
+            this.frontierAdded.clear();
+            this.frontierRemoved.clear();
+        }
+        Arrays.fill(this.gScore, Double.MAX_VALUE);
+        Arrays.fill(this.fScore, Double.MAX_VALUE);
+        Arrays.fill(this.cameFrom, -1);
+
+        this.target = target.y * width + target.x;
+        this.targetX = target.x;
+        this.targetY = target.y;
         this.solutionPath = null;
 
-        Node startNode = new Node(start);
-        startNode.gScore = 0;
-        startNode.fScore = calcHeuristic(start, target);
-        this.openSet.add(startNode);
-        this.nodes.put(startNode.point, startNode);
+        int startIndex = start.y * width + start.x;
+        this.gScore[startIndex] = 0;
+        this.fScore[startIndex] = calcHeuristic(start.x, start.y, target.x, target.y);
+        this.openSet.add(startIndex);
+        this.frontierTracked = false;
     }
 
     @Override
     public List<Point> step() {
-        List<Point> exploredCells = new ArrayList<>();
+        CellBuffer exploredCells = new CellBuffer(this.width);
+        step(exploredCells);
+        return exploredCells.toPoints();
+    }
 
+    @Override
+    public void step(CellBuffer exploredCells) {
         if (!this.openSet.isEmpty()) {
             // Get node with lowest fScore
-            Node current = this.openSet.remove();
+            int current = this.openSet.remove();
+            if (this.frontierTracked) {
+                this.frontierRemoved.accept(current);
+            }
 
-            if (current.point.equals(this.target)) {
+            if (current == this.target) {
                 calculateSolutionPath(current);
             }
 
-            this.closedSet.add(current);
+            this.closedSet.set(current);
 
-            Node up = new Node(new Point(current.point.x, current.point.y - 1));
-            Node down = new Node(new Point(current.point.x, current.point.y + 1));
-            Node right = new Node(new Point(current.point.x + 1, current.point.y));
-            Node left = new Node(new Point(current.point.x - 1, current.point.y));
-            Node[] neighbors = {up, right, down, left};
+            int x = current % this.width;
+            int y = current / this.width;
+            relax(current, x, y - 1, exploredCells); // Up
+            relax(current, x + 1, y, exploredCells); // Right
+            relax(current, x, y + 1, exploredCells); // Down
+            relax(current, x - 1, y, exploredCells); // Left
+        }
+    }
 
-            for (Node neighbor : neighbors) {
-                // Ignore already evaluated nodes and ones that aren't traversable
-                if (this.closedSet.contains(neighbor) || !Main.isOpen(neighbor.point)) {
-                    continue;
-                }
+    @Override
+    public List<Point> solve(PathfinderData data, CellBuffer explored, int maxSteps) {
+        // Nothing is drawn while solving, so changes to the frontier aren't recorded until they're
+        // asked for again
+        this.frontierTracked = false;
+        this.frontierAdded.clear();
+        this.frontierRemoved.clear();
+
+        for (int i = 0; i < maxSteps; i++) {
+            step(explored);
+            data.steps++;
+
+            if (this.solutionPath != null) {
+                data.done = true;
+                return this.solutionPath;
+            }
+            // Every cell explored is left in the open set, so a step that empties it explored nothing
+            if (this.openSet.isEmpty()) {
+                data.done = true;
+                return null;
+            }
+        }
+        return null;
+    }
 
-                exploredCells.add(neighbor.point);
-                // Discover a new Node
-                if (!this.openSet.contains(neighbor)) {
-                    this.openSet.add(neighbor);
-                    this.nodes.put(neighbor.point, neighbor);
-                }
+    /**
+     * Evaluates the path to a neighbor of the current node, updating the neighbor if it is better
+     * than any path found to it so far.
+     *
+     * @param current       The cell index of the node currently being evaluated.
+     * @param x             The x-coordinate of the neighbor.
+     * @param y             The y-coordinate of the neighbor.
+     * @param exploredCells The buffer to add the cells explored during this iteration to, or null.
+     * @since v1.5.8
+     */
+    private void relax(int current, int x, int y, CellBuffer exploredCells) {
+        // Ignore nodes that aren't traversable and already evaluated nodes
+        if (!this.graph.isOpen(x, y)) {
+            return;
+        }
+        int neighbor = y * this.width + x;
+        if (this.closedSet.get(neighbor)) {
+            return;
+        }
 
-                // Get the node reference for this point, if one already exists
-                if (this.nodes.containsKey(neighbor.point)) {
-                    neighbor = this.nodes.get(neighbor.point);
-                }
-                double tentativeGScore = calcTentativeGScore(current, neighbor);
-                if (tentativeGScore < neighbor.gScore) {
-                    // This is a better path
-                    neighbor.cameFrom = current;
-                    neighbor.gScore = tentativeGScore;
-                    neighbor.fScore = neighbor.gScore + calcHeuristic(neighbor.point, this.target);
-
-                    // Update this node's position in the priority queue
-                    // Note: O(n)
-                    if (this.openSet.contains(neighbor)) {
-                        this.openSet.remove(neighbor);
-                        this.openSet.add(neighbor);
-                    }
+        if (exploredCells != null) {
+            exploredCells.add(x, y);
+        }
+
+        double tentativeGScore = calcTentativeGScore(this.gScore[current], this.graph.getCost(neighbor));
+        if (tentativeGScore < this.gScore[neighbor]) {
+            // This is a better path
+            this.cameFrom[neighbor] = current;
+            this.gScore[neighbor] = tentativeGScore;
+            this.fScore[neighbor] = tentativeGScore + calcHeuristic(x, y, this.targetX, this.targetY);
+
+            // Discover a new node, or move an existing one to its new position in the open set
+            if (this.openSet.contains(neighbor)) {
+                this.openSet.update(neighbor);
+            } else {
+                this.openSet.add(neighbor);
+                if (this.frontierTracked) {
+                    this.frontierAdded.accept(neighbor);
                 }
             }
         }
-
-        return exploredCells;
     }
 
     /**
-     * Returns a tentative gScore (real cost to reach this node) for the given neighbor of a given
-     * node.
+     * Returns a tentative gScore (real cost to reach this node) for a neighbor of the node
+     * currently being evaluated.
      *
-     * @param current  The node currently being evaluated.
-     * @param neighbor The neighbor of the current node being evaluated.
+     * @param currentGScore The gScore of the node currently being evaluated.
+     * @param neighborCost  The cost to travel onto the neighbor.
      * @return The tentative gScore of the neighboring node.
      * @since v1.5.2
      */
-    protected double calcTentativeGScore(Node current, Node neighbor) {
-        return current.gScore + Main.getCost(neighbor.point);
+    protected double calcTentativeGScore(double currentGScore, int neighborCost) {
+        return currentGScore + neighborCost;
     }
 
     /**
      * Returns the Manhattan distance between the given points.
      *
-     * @param p1 First point of the point pair to calculate the heuristic of.
-     * @param p2 Second point of the point pair to calculate the heuristic of.
+     * @param x1 The x-coordinate of the first point of the pair to calculate the heuristic of.
+     * @param y1 The y-coordinate of the first point of the pair to calculate the heuristic of.
+     * @param x2 The x-coordinate of the second point of the pair to calculate the heuristic of.
+     * @param y2 The y-coordinate of the second point of the pair to calculate the heuristic of.
      * @return The Manhattan distance between the two points.
      */
-    protected double calcHeuristic(Point p1, Point p2) {
-        return Math.abs(p1.x - p2.x) + Math.abs(p1.y - p2.y);
+    protected double calcHeuristic(int x1, int y1, int x2, int y2) {
+        return Math.abs(x1 - x2) + Math.abs(y1 - y2);
     }
 
     /**
      * Fills solutionPath with the nodes that make the path from the start point to the target
      * point. Nodes are ordered starting from the path start point to the path endpoint.
      *
-     * @param target The end node of the path.
+     * @param target The cell index of the end node of the path.
      */
-    private void calculateSolutionPath(Node target) {
+    private void calculateSolutionPath(int target) {
         this.solutionPath = new LinkedList<>();
 
-        while (target != null) {
-            this.solutionPath.add(0, target.point);
-            target = target.cameFrom;
+        while (target != -1) {
+            this.solutionPath.add(0, new Point(target % this.width, target / this.width));
+            target = this.cameFrom[target];
         }
     }
 
     @Override
     public Set<Point> getFrontier() {
         Set<Point> frontier = new HashSet<>();
-        for (Node n : this.openSet) {
-            frontier.add(n.point);
+        for (int i = 0; i < this.openSet.size(); i++) {
+            int cell = this.openSet.get(i);
+            frontier.add(new Point(cell % this.width, cell / this.width));
         }
         return frontier;
     }
 
+    @Override
+    public boolean isFrontierEmpty() {
+        return this.openSet.isEmpty();
+    }
+
+    @Override
+    public boolean getFrontierChanges(CellBuffer added, CellBuffer removed) {
+        // Changes are only recorded once they're first asked for, so until then the whole open set
+        // has joined the frontier
+        if (!this.frontierTracked) {
+            for (int i = 0; i < this.openSet.size(); i++) {
+                added.accept(this.openSet.get(i));
+            }
+            this.frontierTracked = true;
+            return true;
+        }
+
+        added.addAll(this.frontierAdded);
+        removed.addAll(this.frontierRemoved);
+        this.frontierAdded.clear();
+        this.frontierRemoved.clear();
+        return true;
+    }
+
     @Override
     public List<Point> getSolution() {
         return this.solutionPath;
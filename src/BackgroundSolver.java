@@ -0,0 +1,437 @@
+import java.awt.Point;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Steps pathfinders as fast as possible on a worker thread, and publishes snapshots of their
+ * progress for the grid to draw whenever it is ready to.
+ * <p>
+ * The pathfinders take turns stepping once each, so they stay as far along as they would be if they
+ * were stepped together. Every few milliseconds the worker publishes a snapshot of every
+ * pathfinder's progress, replacing the previous one. Readers only ever see the latest snapshot, so
+ * a reader that is slower than the worker skips the snapshots in between rather than falling
+ * behind. Snapshots are immutable, and can be read from any thread.
+ * <p>
+ * The frontiers of pathfinders that report their frontier changes are published as the cells that
+ * changed since the reader last got the progress, rather than copied in full. A cell that changed
+ * many times in between is only reported once, so a slow reader can't make them pile up.
+ * <p>
+ * The pathfinders must be initialized before the solver is started, and must not be used by
+ * anything else until it is stopped or has finished.
+ *
+ * @since v1.5.24
+ */
+public class BackgroundSolver {
+    /**
+     * Least time between published snapshots, in nanoseconds.
+     */
+    private static final long PUBLISH_INTERVAL = 4_000_000;
+
+    private final int width;
+    private final List<Search> searches;
+    private final Thread thread;
+    private volatile boolean stopped;
+
+    /**
+     * Creates a new solver for the given pathfinders. Each pathfinder should only be given once.
+     *
+     * @param pathfinders The initialized pathfinders to step.
+     * @param width       The width of the graph the pathfinders are searching.
+     */
+    public BackgroundSolver(List<Pathfinder> pathfinders, int width) {
+        this.width = width;
+        this.searches = new ArrayList<>();
+        for (Pathfinder pathfinder : pathfinders) {
+            this.searches.add(new Search(pathfinder, width));
+        }
+        this.thread = new Thread(this::solve, "background-solver");
+        this.thread.setDaemon(true);
+        this.stopped = false;
+    }
+
+    /**
+     * Starts stepping the pathfinders on the worker thread.
+     */
+    public void start() {
+        this.thread.start();
+    }
+
+    /**
+     * Stops stepping the pathfinders, and waits for the worker thread to publish a last snapshot
+     * and finish. Once this returns, the pathfinders are no longer being used by the solver.
+     */
+    public void stop() {
+        this.stopped = true;
+        try {
+            this.thread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Returns the latest snapshot of the pathfinders' progress, along with the changes to their
+     * frontiers since this was last called. The changes are only returned once, so there should be
+     * only one reader.
+     *
+     * @return The progress of each pathfinder. Empty until the first snapshot is published.
+     */
+    public synchronized Map<Pathfinder, Progress> getProgress() {
+        Map<Pathfinder, Progress> progress = new HashMap<>();
+        for (Search search : this.searches) {
+            if (search.published != null) {
+                progress.put(search.pathfinder, search.takeFrontierChanges(this.width));
+            }
+        }
+        return Collections.unmodifiableMap(progress);
+    }
+
+    /**
+     * Steps the pathfinders until they are all done or the solver is stopped.
+     */
+    private void solve() {
+        int remaining = this.searches.size();
+        long lastPublished = System.nanoTime();
+        while (remaining > 0 && !this.stopped) {
+            for (Search search : this.searches) {
+                if (!search.done && search.step()) {
+                    remaining--;
+                }
+            }
+
+            long now = System.nanoTime();
+            if (now - lastPublished >= PUBLISH_INTERVAL) {
+                publish();
+                lastPublished = now;
+            }
+        }
+        publish();
+    }
+
+    /**
+     * Publishes a snapshot of every pathfinder's progress, replacing the previous one.
+     */
+    private synchronized void publish() {
+        for (Search search : this.searches) {
+            search.publishFrontierChanges();
+            search.snapshot(this.width);
+        }
+    }
+
+    /**
+     * The state of one pathfinder's search. The frontier changes and the published snapshot are
+     * shared with the reader while holding the solver's lock, and everything else is only used by
+     * the worker thread.
+     */
+    private static class Search {
+        public final Pathfinder pathfinder;
+        public final CellBuffer stepped; // Cells explored by the latest step
+        public final BitSet seen; // Cells in explored
+        public int[] explored; // Cells explored so far, in order, shared with published snapshots
+        public int exploredCount;
+        public int steps;
+        public boolean done;
+        public List<Point> solution;
+        public Progress published; // Last snapshot published, reused while nothing changes
+
+        public final boolean frontierTracked; // Whether the pathfinder reports its frontier changes
+        public final CellBuffer reportedAdded; // Reused to get the frontier changes from the pathfinder
+        public final CellBuffer reportedRemoved;
+        public final BitSet frontier; // Cells in the frontier when the changes were last published
+        public final BitSet frontierChanged; // Cells in frontierChanges
+        public final CellBuffer frontierChanges; // Cells changed since the reader last took them
+        public boolean frontierFinished; // Whether the changes have been published since done
+
+        /**
+         * Creates the state of a search that hasn't been stepped yet. The whole frontier is reported
+         * as changed, so the reader should clear any frontier it has drawn.
+         *
+         * @param pathfinder The initialized pathfinder.
+         * @param width      The width of the graph being searched.
+         */
+        public Search(Pathfinder pathfinder, int width) {
+            this.pathfinder = pathfinder;
+            this.stepped = new CellBuffer(width);
+            this.seen = new BitSet();
+            this.explored = new int[64];
+            this.exploredCount = 0;
+            this.steps = 0;
+            this.done = false;
+            this.solution = null;
+            this.published = null;
+
+            this.reportedAdded = new CellBuffer(width);
+            this.reportedRemoved = new CellBuffer(width);
+            this.frontier = new BitSet();
+            this.frontierChanged = new BitSet();
+            this.frontierChanges = new CellBuffer(width);
+            this.frontierFinished = false;
+            // Changes the pathfinder has recorded are relative to a frontier the reader drew before,
+            // so they're dropped in favor of the whole frontier
+            this.frontierTracked = pathfinder.getFrontierChanges(this.reportedAdded, this.reportedRemoved);
+            if (this.frontierTracked) {
+                for (Point p : pathfinder.getFrontier()) {
+                    this.reportedAdded.add(p.x, p.y);
+                }
+                this.reportedRemoved.clear();
+                applyReportedChanges();
+            }
+        }
+
+        /**
+         * Steps the pathfinder once.
+         *
+         * @return True if the search is now done, false otherwise.
+         */
+        public boolean step() {
+            CellBuffer cells = this.stepped;
+            cells.clear();
+            this.pathfinder.step(cells);
+            this.steps++;
+
+            // Cells past the count of a published snapshot are never read by it, so they can be
+            // written in place. The array is only copied when it is full. Cells explored again are
+            // already drawn, so each cell is only added once.
+            if (this.exploredCount + cells.size() > this.explored.length) {
+                int length = Math.max(this.explored.length * 2, this.exploredCount + cells.size());
+                this.explored = Arrays.copyOf(this.explored, length);
+            }
+            for (int i = 0; i < cells.size(); i++) {
+                int cell = cells.get(i);
+                if (!this.seen.get(cell)) {
+                    this.seen.set(cell);
+                    this.explored[this.exploredCount++] = cell;
+                }
+            }
+
+            List<Point> solution = this.pathfinder.getSolution();
+            if (solution != null) {
+                this.solution = Collections.unmodifiableList(new ArrayList<>(solution));
+                this.done = true;
+            } else if (cells.isEmpty() && this.pathfinder.isFrontierEmpty()) {
+                // Nothing was explored and nothing is left to explore, so there is no path
+                this.done = true;
+            }
+            return this.done;
+        }
+
+        /**
+         * Publishes the changes to the frontier since they were last published. Once the search is
+         * done, its last changes are published and the pathfinder is no longer asked for them.
+         */
+        public void publishFrontierChanges() {
+            if (!this.frontierTracked || this.frontierFinished) {
+                return;
+            }
+            this.reportedAdded.clear();
+            this.reportedRemoved.clear();
+            this.pathfinder.getFrontierChanges(this.reportedAdded, this.reportedRemoved);
+            applyReportedChanges();
+            this.frontierFinished = this.done;
+        }
+
+        /**
+         * Applies the frontier changes reported by the pathfinder to the published frontier. The
+         * cells that joined are applied before the cells that left, as they're reported.
+         */
+        private void applyReportedChanges() {
+            for (int i = 0; i < this.reportedAdded.size(); i++) {
+                int cell = this.reportedAdded.get(i);
+                this.frontier.set(cell);
+                markFrontierChanged(cell);
+            }
+            for (int i = 0; i < this.reportedRemoved.size(); i++) {
+                int cell = this.reportedRemoved.get(i);
+                this.frontier.clear(cell);
+                markFrontierChanged(cell);
+            }
+        }
+
+        /**
+         * Records that a cell of the frontier has changed since the reader last took the changes.
+         *
+         * @param cell The cell index of the cell.
+         */
+        private void markFrontierChanged(int cell) {
+            if (!this.frontierChanged.get(cell)) {
+                this.frontierChanged.set(cell);
+                this.frontierChanges.accept(cell);
+            }
+        }
+
+        /**
+         * Publishes a snapshot of the search as it is now. The whole frontier is only copied for
+         * pathfinders that don't report their frontier changes.
+         *
+         * @param width The width of the graph being searched.
+         */
+        public void snapshot(int width) {
+            if (this.published == null || this.published.getSteps() != this.steps) {
+                List<Point> frontier = this.frontierTracked ? null : this.done ? Collections.emptyList()
+                        : Collections.unmodifiableList(new ArrayList<>(this.pathfinder.getFrontier()));
+                this.published = new Progress(width, this.explored, this.exploredCount, frontier,
+                        null, null, this.solution, this.steps, this.done);
+            }
+        }
+
+        /**
+         * Returns the published snapshot along with the frontier changes since they were last
+         * taken, and forgets the changes.
+         *
+         * @param width The width of the graph being searched.
+         * @return The progress of the search.
+         */
+        public Progress takeFrontierChanges(int width) {
+            Progress progress = this.published;
+            if (!this.frontierTracked) {
+                return progress;
+            }
+
+            CellBuffer added = new CellBuffer(width);
+            CellBuffer removed = new CellBuffer(width);
+            for (int i = 0; i < this.frontierChanges.size(); i++) {
+                int cell = this.frontierChanges.get(i);
+                (this.frontier.get(cell) ? added : removed).accept(cell);
+                this.frontierChanged.clear(cell);
+            }
+            this.frontierChanges.clear();
+            return new Progress(width, progress.explored, progress.exploredCount, null, added, removed,
+                    progress.solution, progress.steps, progress.done);
+        }
+    }
+
+    /**
+     * An immutable snapshot of the progress of one pathfinder.
+     */
+    public static class Progress {
+        private final int width;
+        private final int[] explored;
+        private final int exploredCount;
+        private final List<Point> frontier;
+        private final CellBuffer frontierAdded;
+        private final CellBuffer frontierRemoved;
+        private final List<Point> solution;
+        private final int steps;
+        private final boolean done;
+
+        /**
+         * Creates a new snapshot.
+         *
+         * @param width         The width of the graph being searched.
+         * @param explored      The cell indices explored so far, in order, followed by any number
+         *                      of other elements. Only the first exploredCount elements are read.
+         * @param exploredCount The number of cells explored so far.
+         * @param frontier        The cells being considered, or null if only the changes to
+         *                        them are known.
+         * @param frontierAdded   The cells that joined the frontier since the last snapshot read,
+         *                        or null if the whole frontier is known.
+         * @param frontierRemoved The cells that left the frontier since the last snapshot read, or
+         *                        null if the whole frontier is known.
+         * @param solution        The solution path, or null if one hasn't been found.
+         * @param steps           The number of steps taken.
+         * @param done            Whether the search is done.
+         */
+        private Progress(int width, int[] explored, int exploredCount, List<Point> frontier,
+                         CellBuffer frontierAdded, CellBuffer frontierRemoved, List<Point> solution,
+                         int steps, boolean done) {
+            this.width = width;
+            this.explored = explored;
+            this.exploredCount = exploredCount;
+            this.frontier = frontier;
+            this.frontierAdded = frontierAdded;
+            this.frontierRemoved = frontierRemoved;
+            this.solution = solution;
+            this.steps = steps;
+            this.done = done;
+        }
+
+        /**
+         * Returns the number of cells explored so far.
+         *
+         * @return The number of cells explored so far.
+         */
+        public int getExploredCount() {
+            return this.exploredCount;
+        }
+
+        /**
+         * Returns the cells explored after the first few, in the order they were explored. Readers
+         * that draw the cells as they are explored can pass the count of an earlier snapshot to get
+         * only the cells explored since then.
+         *
+         * @param from The number of explored cells to skip.
+         * @return A new buffer of the cells explored after the first {@code from}.
+         */
+        public CellBuffer getExploredSince(int from) {
+            CellBuffer cells = new CellBuffer(this.width, this.exploredCount - from);
+            for (int i = from; i < this.exploredCount; i++) {
+                cells.accept(this.explored[i]);
+            }
+            return cells;
+        }
+
+        /**
+         * Returns the cells being considered by the pathfinder, if the pathfinder doesn't report
+         * the changes to them.
+         *
+         * @return An unmodifiable list of the cells being considered, or null if only the changes
+         * to them are known. Empty once the search is done.
+         */
+        public List<Point> getFrontier() {
+            return this.frontier;
+        }
+
+        /**
+         * Returns the cells that joined the frontier since the progress was last read, and are
+         * still in it.
+         *
+         * @return The cells that joined the frontier, or null if the whole frontier is known.
+         */
+        public CellBuffer getFrontierAdded() {
+            return this.frontierAdded;
+        }
+
+        /**
+         * Returns the cells that left the frontier since the progress was last read, including
+         * cells that joined and left in between.
+         *
+         * @return The cells that left the frontier, or null if the whole frontier is known.
+         */
+        public CellBuffer getFrontierRemoved() {
+            return this.frontierRemoved;
+        }
+
+        /**
+         * Returns the solution path.
+         *
+         * @return An unmodifiable list of the cells of the solution path, from the start point to
+         * the target, or null if a path hasn't been found.
+         */
+        public List<Point> getSolution() {
+            return this.solution;
+        }
+
+        /**
+         * Returns the number of steps the pathfinder has taken.
+         *
+         * @return The number of steps taken.
+         */
+        public int getSteps() {
+            return this.steps;
+        }
+
+        /**
+         * Returns whether the pathfinder has found a path or run out of cells to explore.
+         *
+         * @return True if the search is done, false otherwise.
+         */
+        public boolean isDone() {
+            return this.done;
+        }
+    }
+}
@@ -0,0 +1,244 @@
+import java.awt.Point;
+import java.io.FileNotFoundException;
+import java.io.PrintStream;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Command line benchmark that runs every pathfinder over the preset terrains without opening a
+ * window, and prints the results as CSV or JSON.
+ * <p>
+ * Usage: {@code java Benchmark [options]}
+ * <ul>
+ * <li>{@code --presets Maze,Gradient,...} Presets to run, by name. Defaults to all of them.</li>
+ * <li>{@code --sizes 30x21,301x201,...} Terrain sizes to run. Defaults to the default size of
+ * the subgrids.</li>
+ * <li>{@code --seeds 1,2,...} Seeds to generate the presets with. Defaults to 0.</li>
+ * <li>{@code --warmup n} Untimed runs of each search before the timed one. Defaults to 3.</li>
+ * <li>{@code --format csv|json} Output format. Defaults to CSV.</li>
+ * <li>{@code --out file} File to write the results to. Defaults to standard output.</li>
+ * </ul>
+ * <p>
+ * Each search is timed on its own, and then stepped once more to measure the peak size of its
+ * frontier, since getting the frontier after every step would distort the timing. The bytes
+ * allocated are counted across every thread, so pathfinders that compute in parallel, such as the
+ * landmark tables of ALT, are measured in full.
+ *
+ * @since v1.5.19
+ */
+public class Benchmark {
+    private static final String[] COLUMNS = {"preset", "width", "height", "seed", "algorithm", "found",
+            "cost", "length", "steps", "peakFrontier", "wallTimeNanos", "allocatedBytes"};
+
+    public static void main(String[] args) throws FileNotFoundException {
+        List<String> presets = Arrays.asList(Presets.NAMES);
+        List<int[]> sizes = new ArrayList<>();
+        sizes.add(new int[]{Main.DEFAULT_GRID_WIDTH, Main.DEFAULT_GRID_HEIGHT});
+        List<Integer> seeds = List.of(0);
+        int warmup = 3;
+        boolean isJson = false;
+        PrintStream out = System.out;
+
+        for (int i = 0; i < args.length; i++) {
+            if (i + 1 == args.length) {
+                usage("Missing value for " + args[i]);
+            }
+            String value = args[++i];
+            switch (args[i - 1]) {
+                case "--presets":
+                    presets = Arrays.asList(value.split(","));
+                    break;
+                case "--sizes":
+                    sizes.clear();
+                    for (String size : value.split(",")) {
+                        String[] dimensions = size.split("x");
+                        sizes.add(new int[]{Integer.parseInt(dimensions[0]), Integer.parseInt(dimensions[1])});
+                    }
+                    break;
+                case "--seeds":
+                    seeds = new ArrayList<>();
+                    for (String seed : value.split(",")) {
+                        seeds.add(Integer.parseInt(seed));
+                    }
+                    break;
+                case "--warmup":
+                    warmup = Integer.parseInt(value);
+                    break;
+                case "--format":
+                    if (!value.equals("csv") && !value.equals("json")) {
+                        usage("Unknown format " + value);
+                    }
+                    isJson = value.equals("json");
+                    break;
+                case "--out":
+                    out = new PrintStream(value);
+                    break;
+                default:
+                    usage("Unknown option " + args[i - 1]);
+            }
+        }
+
+        List<String[]> rows = new ArrayList<>();
+        for (String preset : presets) {
+            for (int[] size : sizes) {
+                for (int seed : seeds) {
+                    Terrain terrain = Presets.create(preset, size[0], size[1], seed);
+                    GridGraph graph = terrain.toGraph(0);
+                    List<Pathfinder> pathfinders = Main.createPathfinders();
+                    for (int index = 0; index < pathfinders.size(); index++) {
+                        Pathfinder pathfinder = pathfinders.get(index);
+                        if (pathfinder instanceof None) {
+                            continue;
+                        }
+                        int finalIndex = index;
+                        Supplier<Pathfinder> algorithm = () -> Main.createPathfinders().get(finalIndex);
+                        Result result = benchmark(algorithm, graph, terrain.getStart(), terrain.getTarget(), warmup);
+                        rows.add(new String[]{preset, String.valueOf(size[0]), String.valueOf(size[1]),
+                                String.valueOf(seed), pathfinder.toString(), String.valueOf(result.path.isFound()),
+                                String.valueOf((int) result.path.getData().cost),
+                                String.valueOf(result.path.getData().pathLength),
+                                String.valueOf(result.path.getData().steps), String.valueOf(result.peakFrontier),
+                                String.valueOf(result.path.getTime()), String.valueOf(result.allocatedBytes)});
+                    }
+                }
+            }
+        }
+
+        if (isJson) {
+            printJson(rows, out);
+        } else {
+            printCsv(rows, out);
+        }
+        out.flush();
+    }
+
+    /**
+     * Runs a pathfinder to completion, first a few times to warm up, then once timed, then once to
+     * measure its frontier. Every run uses a new pathfinder, so that pathfinders that keep data
+     * between searches start from scratch each time.
+     *
+     * @param algorithm  Creates the pathfinder to run.
+     * @param graph      The terrain to search.
+     * @param start      The starting point of the path.
+     * @param target     The target endpoint of the path.
+     * @param warmup     The number of untimed runs.
+     * @return The measurements of the timed run.
+     */
+    private static Result benchmark(Supplier<Pathfinder> algorithm, GridGraph graph, Point start, Point target, int warmup) {
+        PathQuery query = new PathQuery(algorithm, start, target);
+        for (int i = 0; i < warmup; i++) {
+            PathQueryService.run(graph, query);
+        }
+
+        Result result = new Result();
+        long allocatedBefore = getAllocatedBytes();
+        result.path = PathQueryService.run(graph, query);
+        long allocatedAfter = getAllocatedBytes();
+        result.allocatedBytes = allocatedBefore == -1 ? -1 : allocatedAfter - allocatedBefore;
+
+        // Measure the frontier in a separate run
+        Pathfinder pathfinder = algorithm.get();
+        pathfinder.initialize(graph, start, target);
+        CellBuffer exploredCells = new CellBuffer(graph.getWidth());
+        CellBuffer frontierAdded = new CellBuffer(graph.getWidth());
+        CellBuffer frontierRemoved = new CellBuffer(graph.getWidth());
+        int frontierSize = 0;
+        // Stepped until done rather than for the timed run's steps, as solving may count steps
+        // differently than stepping
+        while (true) {
+            exploredCells.clear();
+            pathfinder.step(exploredCells);
+            frontierAdded.clear();
+            frontierRemoved.clear();
+            if (pathfinder.getFrontierChanges(frontierAdded, frontierRemoved)) {
+                frontierSize += frontierAdded.size() - frontierRemoved.size();
+            } else {
+                frontierSize = pathfinder.getFrontier().size();
+            }
+            result.peakFrontier = Math.max(result.peakFrontier, frontierSize);
+
+            if (pathfinder.getSolution() != null || (exploredCells.isEmpty() && pathfinder.isFrontierEmpty())) {
+                return result;
+            }
+        }
+    }
+
+    /**
+     * Returns the number of bytes allocated by every live thread so far, if the JVM can measure it.
+     * Worker threads of parallel streams live on between searches, so the difference between two
+     * calls includes what they allocated in between. Threads that end in between aren't counted.
+     *
+     * @return The number of bytes allocated by every live thread, or -1 if it can't be measured.
+     */
+    private static long getAllocatedBytes() {
+        if (ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean) {
+            com.sun.management.ThreadMXBean bean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+            if (bean.isThreadAllocatedMemorySupported() && bean.isThreadAllocatedMemoryEnabled()) {
+                long total = 0;
+                for (long allocated : bean.getThreadAllocatedBytes(bean.getAllThreadIds())) {
+                    // Threads that ended since their ids were listed report -1
+                    if (allocated > 0) {
+                        total += allocated;
+                    }
+                }
+                return total;
+            }
+        }
+        return -1;
+    }
+
+    private static void printCsv(List<String[]> rows, PrintStream out) {
+        out.println(String.join(",", COLUMNS));
+        for (String[] row : rows) {
+            String[] fields = new String[row.length];
+            for (int i = 0; i < row.length; i++) {
+                // Quote fields that would otherwise be split or misread
+                boolean needsQuotes = row[i].contains(",") || row[i].contains("\"");
+                fields[i] = needsQuotes ? "\"" + row[i].replace("\"", "\"\"") + "\"" : row[i];
+            }
+            out.println(String.join(",", fields));
+        }
+    }
+
+    private static void printJson(List<String[]> rows, PrintStream out) {
+        out.println("[");
+        for (int r = 0; r < rows.size(); r++) {
+            String[] row = rows.get(r);
+            StringBuilder line = new StringBuilder("  {");
+            for (int i = 0; i < row.length; i++) {
+                if (i > 0) {
+                    line.append(", ");
+                }
+                line.append('"').append(COLUMNS[i]).append("\": ");
+                // Preset and algorithm names are strings, everything else is a number or boolean
+                if (i == 0 || i == 4) {
+                    line.append('"').append(row[i].replace("\\", "\\\\").replace("\"", "\\\"")).append('"');
+                } else {
+                    line.append(row[i]);
+                }
+            }
+            line.append(r + 1 < rows.size() ? "}," : "}");
+            out.println(line);
+        }
+        out.println("]");
+    }
+
+    private static void usage(String message) {
+        System.err.println(message);
+        System.err.println("Usage: java Benchmark [--presets names] [--sizes WxH,...] [--seeds n,...] "
+                + "[--warmup n] [--format csv|json] [--out file]");
+        System.exit(1);
+    }
+
+    /**
+     * Measurements of one benchmarked search.
+     */
+    private static class Result {
+        public PathResult path;
+        public int peakFrontier;
+        public long allocatedBytes;
+    }
+}
@@ -0,0 +1,274 @@
+import java.awt.Point;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashSet;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Bidirectional A* Search Algorithm
+ * <p>
+ * Runs one A* search forward from the start and another backward from the target at the same
+ * time. Each step expands a node from whichever search has the smaller open set. Whenever a node
+ * is reached by both searches, the two halves form a path, and the cheapest such path is
+ * remembered.
+ * <p>
+ * Meeting does not mean the best path has been found. Both searches use the same heuristic, the
+ * average of the distance left to the target and the distance already covered from the start, so
+ * that their fScores are comparable. The search then stops once the lowest fScores of the two open
+ * sets add up to at least the cost of the best path, since no path through the remaining open
+ * nodes could be cheaper.
+ */
+public class BidirectionalAStar implements Pathfinder {
+    private GridGraph graph;
+    private int width;
+    private int start; // Cell index of the start
+    private int target; // Cell index of the target
+    private Search forward;
+    private Search backward;
+    private double bestCost; // Cost of the cheapest path found so far
+    private int meetingPoint; // Cell index where the cheapest path found so far meets, or -1
+    private List<Point> solutionPath;
+
+    @Override
+    public void initialize(GridGraph graph, Point start, Point target) {
+        int size = graph.size();
+        if (this.forward == null || this.forward.gScore.length != size) {
+            this.forward = new Search(size);
+            this.backward = new Search(size);
+        }
+
+        this.graph = graph;
+        this.width = graph.getWidth();
+        this.start = graph.indexOf(start.x, start.y);
+        this.target = graph.indexOf(target.x, target.y);
+        this.bestCost = Double.MAX_VALUE;
+        this.meetingPoint = -1;
+        this.solutionPath = null;
+
+        this.forward.reset(this.start, calcPotential(this.start));
+        this.backward.reset(this.target, -calcPotential(this.target));
+    }
+
+    @Override
+    public List<Point> step() {
+        CellBuffer exploredCells = new CellBuffer(this.width);
+        step(exploredCells);
+        return exploredCells.toPoints();
+    }
+
+    @Override
+    public void step(CellBuffer exploredCells) {
+        if (this.solutionPath != null) {
+            return;
+        }
+
+        // If one side has run out of nodes, it has reached everything it can, and the best path
+        // found (if any) can't be beaten
+        boolean exhausted = this.forward.openSet.isEmpty() || this.backward.openSet.isEmpty();
+        if (this.meetingPoint != -1 && (exhausted || this.bestCost <= this.forward.fScore[this.forward.openSet.peek()]
+                + this.backward.fScore[this.backward.openSet.peek()])) {
+            calculateSolutionPath();
+            return;
+        }
+        if (exhausted) {
+            // There is no path. Stop the other side too, since it can't find one either.
+            this.forward.openSet.clear();
+            this.backward.openSet.clear();
+            return;
+        }
+
+        // Grow the smaller frontier
+        if (this.forward.openSet.size() <= this.backward.openSet.size()) {
+            expand(this.forward, this.backward, false, exploredCells);
+        } else {
+            expand(this.backward, this.forward, true, exploredCells);
+        }
+    }
+
+    /**
+     * Expands the node with the lowest fScore of one of the searches.
+     *
+     * @param search        The search to expand.
+     * @param other         The search going in the opposite direction.
+     * @param isBackward    Whether the expanded search runs from the target to the start.
+     * @param exploredCells The buffer to add the cells explored during this iteration to.
+     */
+    private void expand(Search search, Search other, boolean isBackward, CellBuffer exploredCells) {
+        int current = search.openSet.remove();
+        search.closedSet.set(current);
+
+        int x = current % this.width;
+        int y = current / this.width;
+        relax(search, other, current, x, y - 1, isBackward, exploredCells); // Up
+        relax(search, other, current, x + 1, y, isBackward, exploredCells); // Right
+        relax(search, other, current, x, y + 1, isBackward, exploredCells); // Down
+        relax(search, other, current, x - 1, y, isBackward, exploredCells); // Left
+    }
+
+    /**
+     * Evaluates the path to a neighbor of the current node, updating the neighbor if it is better
+     * than any path found to it so far, and checking whether it joins up with the other search.
+     *
+     * @param search        The search being expanded.
+     * @param other         The search going in the opposite direction.
+     * @param current       The cell index of the node currently being evaluated.
+     * @param x             The x-coordinate of the neighbor.
+     * @param y             The y-coordinate of the neighbor.
+     * @param isBackward    Whether the expanded search runs from the target to the start.
+     * @param exploredCells The buffer to add the cells explored during this iteration to.
+     */
+    private void relax(Search search, Search other, int current, int x, int y, boolean isBackward,
+                       CellBuffer exploredCells) {
+        if (this.graph.isOOB(x, y)) {
+            return;
+        }
+        int neighbor = this.graph.indexOf(x, y);
+        // The start point isn't traversable, but the backward search has to be able to reach it
+        if ((!this.graph.isOpen(neighbor) && !(isBackward && neighbor == this.start))
+                || search.closedSet.get(neighbor)) {
+            return;
+        }
+
+        exploredCells.add(x, y);
+
+        // Going forward, a step costs the cost of the cell being moved onto. Going backward, it
+        // costs the cost of the cell being moved off of.
+        int cost = isBackward ? this.graph.getCost(current) : this.graph.getCost(neighbor);
+        double tentativeGScore = search.gScore[current] + cost;
+        if (tentativeGScore < search.gScore[neighbor]) {
+            search.cameFrom[neighbor] = current;
+            search.gScore[neighbor] = tentativeGScore;
+            double potential = calcPotential(neighbor);
+            search.fScore[neighbor] = tentativeGScore + (isBackward ? -potential : potential);
+
+            if (search.openSet.contains(neighbor)) {
+                search.openSet.update(neighbor);
+            } else {
+                search.openSet.add(neighbor);
+            }
+
+            // Check whether this completes a cheaper path through the neighbor
+            if (other.gScore[neighbor] != Double.MAX_VALUE) {
+                double pathCost = tentativeGScore + other.gScore[neighbor];
+                if (pathCost < this.bestCost) {
+                    this.bestCost = pathCost;
+                    this.meetingPoint = neighbor;
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the heuristic used by the forward search for a cell. The backward search uses its
+     * negation. Averaging the heuristic costs towards both ends keeps it consistent in both
+     * directions.
+     *
+     * @param cell The cell index to calculate the potential of.
+     * @return Half the heuristic cost from the cell to the target minus half the heuristic cost
+     * from the cell to the start.
+     */
+    private double calcPotential(int cell) {
+        int x = cell % this.width;
+        int y = cell / this.width;
+        int startX = this.start % this.width;
+        int startY = this.start / this.width;
+        int targetX = this.target % this.width;
+        int targetY = this.target / this.width;
+        return (calcHeuristic(x, y, targetX, targetY) - calcHeuristic(x, y, startX, startY)) / 2;
+    }
+
+    /**
+     * Returns the Manhattan distance between the given points.
+     *
+     * @param x1 The x-coordinate of the first point of the pair to calculate the heuristic of.
+     * @param y1 The y-coordinate of the first point of the pair to calculate the heuristic of.
+     * @param x2 The x-coordinate of the second point of the pair to calculate the heuristic of.
+     * @param y2 The y-coordinate of the second point of the pair to calculate the heuristic of.
+     * @return The Manhattan distance between the two points.
+     */
+    protected double calcHeuristic(int x1, int y1, int x2, int y2) {
+        return Math.abs(x1 - x2) + Math.abs(y1 - y2);
+    }
+
+    /**
+     * Fills solutionPath with the nodes that make the path from the start point to the target
+     * point, joining the forward and backward halves at the meeting point. Nodes are ordered
+     * starting from the path start point to the path endpoint.
+     */
+    private void calculateSolutionPath() {
+        this.solutionPath = new LinkedList<>();
+
+        for (int cell = this.meetingPoint; cell != -1; cell = this.forward.cameFrom[cell]) {
+            this.solutionPath.add(0, new Point(cell % this.width, cell / this.width));
+        }
+        for (int cell = this.backward.cameFrom[this.meetingPoint]; cell != -1; cell = this.backward.cameFrom[cell]) {
+            this.solutionPath.add(new Point(cell % this.width, cell / this.width));
+        }
+    }
+
+    @Override
+    public Set<Point> getFrontier() {
+        Set<Point> frontier = new HashSet<>();
+        for (Search search : new Search[]{this.forward, this.backward}) {
+            for (int i = 0; i < search.openSet.size(); i++) {
+                int cell = search.openSet.get(i);
+                frontier.add(new Point(cell % this.width, cell / this.width));
+            }
+        }
+        return frontier;
+    }
+
+    @Override
+    public boolean isFrontierEmpty() {
+        return this.forward.openSet.isEmpty() && this.backward.openSet.isEmpty();
+    }
+
+    @Override
+    public List<Point> getSolution() {
+        return this.solutionPath;
+    }
+
+    @Override
+    public String toString() {
+        return "Bidirectional A*";
+    }
+
+    /**
+     * The state of the search in one direction, indexed by cell.
+     */
+    private static class Search {
+        public final double[] gScore; // The real cost between each cell and this search's origin
+        public final double[] fScore; // gScore plus this search's heuristic cost
+        public final int[] cameFrom; // Cell on the path back to this search's origin, or -1
+        public final BitSet closedSet;
+        public final IndexedHeap openSet; // Ordered by fScore
+
+        public Search(int size) {
+            this.gScore = new double[size];
+            this.fScore = new double[size];
+            this.cameFrom = new int[size];
+            this.closedSet = new BitSet(size);
+            this.openSet = new IndexedHeap(size, this.fScore);
+        }
+
+        /**
+         * Clears the search and starts it again from the given origin.
+         *
+         * @param origin    The cell index the search starts from.
+         * @param heuristic The heuristic cost of the origin.
+         */
+        public void reset(int origin, double heuristic) {
+            Arrays.fill(this.gScore, Double.MAX_VALUE);
+            Arrays.fill(this.fScore, Double.MAX_VALUE);
+            Arrays.fill(this.cameFrom, -1);
+            this.closedSet.clear();
+            this.openSet.clear();
+
+            this.gScore[origin] = 0;
+            this.fScore[origin] = heuristic;
+            this.openSet.add(origin);
+        }
+    }
+}
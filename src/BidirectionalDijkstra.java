@@ -0,0 +1,15 @@
+/**
+ * Bidirectional Dijkstra's Algorithm.
+ */
+public class BidirectionalDijkstra extends BidirectionalAStar {
+    @Override
+    protected double calcHeuristic(int x1, int y1, int x2, int y2) {
+        // Dijkstra's Algorithm is a special case of A* where the heuristic is 0
+        return 0;
+    }
+
+    @Override
+    public String toString() {
+        return "Bidirectional Dijkstra";
+    }
+}
@@ -1,108 +1,229 @@
 import java.awt.Point;
-import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.Arrays;
+import java.util.BitSet;
 import java.util.HashSet;
 import java.util.LinkedList;
 import java.util.List;
-import java.util.Map;
-import java.util.Queue;
 import java.util.Set;
 
 /**
  * Breadth First Search Algorithm
+ * <p>
+ * Cells are encoded as ints (y * width + x). Each cell is added to the queue at most once, and the
+ * path back to the start is stored as one direction per cell.
  */
 public class BreadthFirstSearch implements Pathfinder {
-    private Point target;
-    private Queue<Point> openSet;
-    private Set<Point> closedSet;
-    private Map<Point, Point> cameFrom;
+    // Directions a cell can be reached from. NONE is used for the start and undiscovered cells.
+    private static final byte NONE = 0;
+    private static final byte FROM_UP = 1;
+    private static final byte FROM_RIGHT = 2;
+    private static final byte FROM_DOWN = 3;
+    private static final byte FROM_LEFT = 4;
+
+    private GridGraph graph;
+    private int width;
+    private int height;
+    private int target; // Cell index of the target
+    private IntQueue openSet;
+    private BitSet closedSet;
+    private BitSet discovered; // Cells that have been added to the queue at some point
+    private boolean frontierTracked; // Whether frontier changes are recorded, once they've been asked for
+    private CellBuffer frontierAdded; // Cells added to the queue since the changes were reported
+    private CellBuffer frontierRemoved; // Cells removed from the queue since then
+    private byte[] cameFrom; // Direction of the previous cell on the path back to the start
     private List<Point> solutionPath;
 
     @Override
-    public void initialize(Point start, Point target) {
-        this.openSet = new LinkedList<>();
-        this.closedSet = new HashSet<>();
-        this.cameFrom = new HashMap<>();
+    public void initialize(GridGraph graph, Point start, Point target) {
+        int width = graph.getWidth();
+        int height = graph.getHeight();
+        this.graph = graph;
+
+        // Reuse the previous search's storage if the grid size hasn't changed
+        if (this.cameFrom == null || width != this.width || height != this.height) {
+            this.width = width;
+            this.height = height;
+            this.openSet = new IntQueue();
+            this.closedSet = new BitSet(width * height);
+            this.discovered = new BitSet(width * height);
+            this.cameFrom = new byte[width * height];
+            this.frontierAdded = new CellBuffer(width);
+            this.frontierRemoved = new CellBuffer(width);
+        } else {
+            this.openSet.clear();
+            this.closedSet.clear();
+            this.discovered.clear();
+            this.frontierAdded.clear();
+            this.frontierRemoved.clear();
+            Arrays.fill(this.cameFrom, NONE);
+        }
+        this.target = target.y * width + target.x;
         this.solutionPath = null;
-        this.target = target;
 
-        this.openSet.add(start);
+        int startIndex = start.y * width + start.x;
+        this.openSet.add(startIndex);
+        this.discovered.set(startIndex);
+        this.frontierTracked = false;
     }
 
     @Override
     public List<Point> step() {
-        List<Point> exploredCells = new ArrayList<>();
+        CellBuffer exploredCells = new CellBuffer(this.width);
+        step(exploredCells);
+        return exploredCells.toPoints();
+    }
 
+    @Override
+    public void step(CellBuffer exploredCells) {
         // While unvisited nodes remain...
         if (!this.openSet.isEmpty()) {
-            // Get next unvisited node
-            Point current = this.openSet.remove();
-
-            // Try again with next cell if this one was already visited.
-            // NOTE: Not part of the actual search. This just prevents a step() call from
-            // being wasted and keeps the algorithm on an accurate pace with the others.
-            if (this.closedSet.contains(current)) {
-                return step();
-            } else {
-                // Mark as now visited
-                this.closedSet.add(current);
-
-                Point up = new Point(current.x, current.y - 1);
-                Point down = new Point(current.x, current.y + 1);
-                Point right = new Point(current.x + 1, current.y);
-                Point left = new Point(current.x - 1, current.y);
-                Point[] neighbors = {up, right, down, left};
-
-                // Explore each neighbor
-                for (Point neighbor : neighbors) {
-                    // Ignore already evaluated nodes and ones that aren't traversable
-                    if (this.closedSet.contains(neighbor) || !Main.isOpen(neighbor)) {
-                        continue;
-                    }
-
-                    exploredCells.add(neighbor);
-
-                    this.cameFrom.put(neighbor, current);
-
-                    // If a neighbor hasn't been visited, add to the queue to be visited
-                    if (!this.openSet.contains(neighbor)) {
-                        this.openSet.add(neighbor);
-                    }
-
-                    // If the target has been found
-                    if (neighbor.equals(this.target)) {
-                        calculateSolutionPath(this.target);
-                    }
-                }
+            // Get next unvisited node. Since cells are only queued once, it can't have been
+            // visited already.
+            int current = this.openSet.remove();
+            if (this.frontierTracked) {
+                this.frontierRemoved.accept(current);
+            }
+
+            // Mark as now visited
+            this.closedSet.set(current);
+
+            // Explore each neighbor
+            int x = current % this.width;
+            int y = current / this.width;
+            explore(x, y - 1, FROM_DOWN, exploredCells); // Up
+            explore(x + 1, y, FROM_LEFT, exploredCells); // Right
+            explore(x, y + 1, FROM_UP, exploredCells); // Down
+            explore(x - 1, y, FROM_RIGHT, exploredCells); // Left
+        }
+    }
+
+    @Override
+    public List<Point> solve(PathfinderData data, CellBuffer explored, int maxSteps) {
+        // Nothing is drawn while solving, so changes to the frontier aren't recorded until they're
+        // asked for again
+        this.frontierTracked = false;
+        this.frontierAdded.clear();
+        this.frontierRemoved.clear();
+
+        for (int i = 0; i < maxSteps; i++) {
+            step(explored);
+            data.steps++;
+
+            if (this.solutionPath != null) {
+                data.done = true;
+                return this.solutionPath;
+            }
+            // Every cell explored is left in the queue, so a step that empties it explored nothing
+            if (this.openSet.isEmpty()) {
+                data.done = true;
+                return null;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Explores a neighbor of the cell currently being visited, adding it to the queue if it hasn't
+     * been discovered yet.
+     *
+     * @param x             The x-coordinate of the neighbor.
+     * @param y             The y-coordinate of the neighbor.
+     * @param from          The direction of the current cell, as seen from the neighbor.
+     * @param exploredCells The buffer to add the cells explored during this iteration to, or null.
+     * @since v1.5.8
+     */
+    private void explore(int x, int y, byte from, CellBuffer exploredCells) {
+        // Ignore already evaluated nodes and ones that aren't traversable
+        if (!this.graph.isOpen(x, y)) {
+            return;
+        }
+        int neighbor = y * this.width + x;
+        if (this.closedSet.get(neighbor)) {
+            return;
+        }
+
+        if (exploredCells != null) {
+            exploredCells.add(x, y);
+        }
+
+        // If a neighbor hasn't been discovered, add to the queue to be visited
+        if (!this.discovered.get(neighbor)) {
+            this.discovered.set(neighbor);
+            this.cameFrom[neighbor] = from;
+            this.openSet.add(neighbor);
+            if (this.frontierTracked) {
+                this.frontierAdded.accept(neighbor);
+            }
+
+            // If the target has been found
+            if (neighbor == this.target) {
+                calculateSolutionPath(this.target);
             }
         }
-        return exploredCells;
     }
 
     /**
      * Fills solutionPath with the nodes that make the path from the start point to the target
      * point. Nodes are ordered starting from the path start point to the path endpoint.
      *
-     * @param target The endpoint of the path.
+     * @param target The cell index of the endpoint of the path.
      */
-    private void calculateSolutionPath(Point target) {
+    private void calculateSolutionPath(int target) {
         this.solutionPath = new LinkedList<>();
 
-        while (target != null) {
-            this.solutionPath.add(0, target);
-            target = this.cameFrom.get(target);
+        int x = target % this.width;
+        int y = target / this.width;
+        while (true) {
+            this.solutionPath.add(0, new Point(x, y));
+            byte from = this.cameFrom[y * this.width + x];
+            if (from == FROM_UP) {
+                y--;
+            } else if (from == FROM_RIGHT) {
+                x++;
+            } else if (from == FROM_DOWN) {
+                y++;
+            } else if (from == FROM_LEFT) {
+                x--;
+            } else {
+                break;
+            }
         }
     }
 
     @Override
     public Set<Point> getFrontier() {
         Set<Point> frontier = new HashSet<>();
-        for (Point p : this.openSet) {
-            frontier.add(p);
+        for (int i = 0; i < this.openSet.size(); i++) {
+            int cell = this.openSet.get(i);
+            frontier.add(new Point(cell % this.width, cell / this.width));
         }
         return frontier;
     }
 
+    @Override
+    public boolean isFrontierEmpty() {
+        return this.openSet.isEmpty();
+    }
+
+    @Override
+    public boolean getFrontierChanges(CellBuffer added, CellBuffer removed) {
+        // Changes are only recorded once they're first asked for, so until then the whole queue has
+        // joined the frontier
+        if (!this.frontierTracked) {
+            for (int i = 0; i < this.openSet.size(); i++) {
+                added.accept(this.openSet.get(i));
+            }
+            this.frontierTracked = true;
+            return true;
+        }
+
+        added.addAll(this.frontierAdded);
+        removed.addAll(this.frontierRemoved);
+        this.frontierAdded.clear();
+        this.frontierRemoved.clear();
+        return true;
+    }
+
     @Override
     public List<Point> getSolution() {
         return this.solutionPath;
@@ -0,0 +1,139 @@
+import java.awt.Point;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.IntConsumer;
+
+/**
+ * Growable list of cell indices of a grid, where the cell at (x, y) has the index y * width + x.
+ * Adding cells never allocates unless the buffer has to grow, so one buffer can be cleared and
+ * reused for every step of a search.
+ *
+ * @since v1.5.25
+ */
+public class CellBuffer implements IntConsumer {
+    private final int width;
+    private int[] cells;
+    private int size;
+
+    /**
+     * Creates a new empty buffer.
+     *
+     * @param width The width of the grid the cells are in.
+     */
+    public CellBuffer(int width) {
+        this(width, 16);
+    }
+
+    /**
+     * Creates a new empty buffer.
+     *
+     * @param width           The width of the grid the cells are in.
+     * @param initialCapacity The number of cells the buffer can hold before it has to grow.
+     */
+    public CellBuffer(int width, int initialCapacity) {
+        if (width <= 0) {
+            throw new IllegalArgumentException("Width must be positive.");
+        }
+        this.width = width;
+        this.cells = new int[Math.max(1, initialCapacity)];
+        this.size = 0;
+    }
+
+    /**
+     * Returns the width of the grid the cells are in.
+     *
+     * @return The width of the grid in cells.
+     */
+    public int getWidth() {
+        return this.width;
+    }
+
+    /**
+     * Returns whether the buffer is empty.
+     *
+     * @return True if the buffer contains no cells, false otherwise.
+     */
+    public boolean isEmpty() {
+        return this.size == 0;
+    }
+
+    /**
+     * Returns the number of cells in the buffer.
+     *
+     * @return The number of cells in the buffer.
+     */
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     * Returns the index of the cell at the given position in the buffer.
+     *
+     * @param i The position in the buffer, in the order the cells were added.
+     * @return The cell index at the given position.
+     * @throws IndexOutOfBoundsException If the position is not in the range [0, size()).
+     */
+    public int get(int i) {
+        if (i < 0 || i >= this.size) {
+            throw new IndexOutOfBoundsException("Position must be in the buffer.");
+        }
+        return this.cells[i];
+    }
+
+    /**
+     * Adds a cell to the end of the buffer.
+     *
+     * @param cell The index of the cell to add.
+     */
+    @Override
+    public void accept(int cell) {
+        if (this.size == this.cells.length) {
+            this.cells = Arrays.copyOf(this.cells, this.cells.length * 2);
+        }
+        this.cells[this.size++] = cell;
+    }
+
+    /**
+     * Adds a cell to the end of the buffer.
+     *
+     * @param x The x-coordinate of the cell to add.
+     * @param y The y-coordinate of the cell to add.
+     */
+    public void add(int x, int y) {
+        accept(y * this.width + x);
+    }
+
+    /**
+     * Adds every cell of another buffer to the end of this one.
+     *
+     * @param other The buffer to add the cells of. Its cells must be in a grid of the same width.
+     */
+    public void addAll(CellBuffer other) {
+        if (this.size + other.size > this.cells.length) {
+            this.cells = Arrays.copyOf(this.cells, Math.max(this.cells.length * 2, this.size + other.size));
+        }
+        System.arraycopy(other.cells, 0, this.cells, this.size, other.size);
+        this.size += other.size;
+    }
+
+    /**
+     * Removes all cells from the buffer.
+     */
+    public void clear() {
+        this.size = 0;
+    }
+
+    /**
+     * Returns the cells in the buffer as points, for code that still works with points.
+     *
+     * @return A new list of the cells in the buffer, in the order they were added.
+     */
+    public List<Point> toPoints() {
+        List<Point> points = new ArrayList<>(this.size);
+        for (int i = 0; i < this.size; i++) {
+            points.add(new Point(this.cells[i] % this.width, this.cells[i] / this.width));
+        }
+        return points;
+    }
+}
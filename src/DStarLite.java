@@ -0,0 +1,348 @@
+import java.awt.Point;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashSet;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * D* Lite Algorithm
+ * <p>
+ * An incremental version of A* that searches backward from the target, finding the cost of
+ * reaching the target from each cell (its gScore). Each cell also has a one step lookahead cost
+ * (its rhs), the cheapest cost through any of its neighbors. Cells where the two differ are
+ * "inconsistent" and are kept in the open set until they are fixed.
+ * <p>
+ * When cells change, only the changed cells and their neighbors become inconsistent, so searching
+ * again only repairs the part of the search tree affected by the change. Moving the start keeps
+ * the search tree too, since every gScore is relative to the target. Changes must be reported
+ * through {@link #cellChanged(int, int)} before the next search. Moving the target, or searching a
+ * graph of a different size, starts again from scratch.
+ */
+public class DStarLite implements Pathfinder, TerrainListener {
+    private GridGraph graph;
+    private int width;
+    private int height;
+    private int start; // Cell index of the start
+    private int target; // Cell index of the target
+    private double keyModifier; // Added to the first key of every cell to account for start moves
+    private double[] gScore; // The cost of reaching the target from each cell
+    private double[] rhs; // The cost of reaching the target through the best neighbor of each cell
+    private double[] firstKeys; // min(gScore, rhs) + heuristic + keyModifier
+    private double[] secondKeys; // min(gScore, rhs)
+    private IndexedHeap openSet; // Inconsistent cells, ordered by their keys
+    private IntQueue changedCells = new IntQueue(); // Cells changed since the last search
+    private BitSet isChanged;
+    private List<Point> solutionPath;
+
+    @Override
+    public void initialize(GridGraph graph, Point start, Point target) {
+        int startIndex = graph.indexOf(start.x, start.y);
+        int targetIndex = graph.indexOf(target.x, target.y);
+
+        if (this.graph == null || graph.getWidth() != this.width || graph.getHeight() != this.height
+                || targetIndex != this.target) {
+            this.graph = graph;
+            this.width = graph.getWidth();
+            this.height = graph.getHeight();
+            reset(startIndex, targetIndex);
+        } else {
+            this.graph = graph;
+            int previousStart = this.start;
+            if (startIndex != previousStart) {
+                // Keys computed for the old start are too high by at most the distance moved
+                this.keyModifier += calcHeuristic(previousStart, startIndex);
+                this.start = startIndex;
+                updateCell(previousStart);
+                updateCell(startIndex);
+            }
+
+            // A changed cell changes its own cost to the target and that of every neighbor that
+            // could move onto it
+            while (!this.changedCells.isEmpty()) {
+                int cell = this.changedCells.remove();
+                this.isChanged.clear(cell);
+                int x = cell % this.width;
+                int y = cell / this.width;
+                updateCell(cell);
+                updateCell(x, y - 1);
+                updateCell(x + 1, y);
+                updateCell(x, y + 1);
+                updateCell(x - 1, y);
+            }
+        }
+
+        this.solutionPath = null;
+    }
+
+    /**
+     * Discards the search tree and starts a new search.
+     *
+     * @param start  The cell index of the start.
+     * @param target The cell index of the target.
+     */
+    private void reset(int start, int target) {
+        int size = this.graph.size();
+        if (this.gScore == null || this.gScore.length != size) {
+            this.gScore = new double[size];
+            this.rhs = new double[size];
+            this.firstKeys = new double[size];
+            this.secondKeys = new double[size];
+            this.openSet = new IndexedHeap(size, this.firstKeys, this.secondKeys);
+            this.isChanged = new BitSet(size);
+        } else {
+            this.openSet.clear();
+            this.isChanged.clear();
+        }
+        this.changedCells.clear();
+        Arrays.fill(this.gScore, Double.MAX_VALUE);
+        Arrays.fill(this.rhs, Double.MAX_VALUE);
+
+        this.start = start;
+        this.target = target;
+        this.keyModifier = 0;
+        this.rhs[target] = 0;
+        calcKey(target);
+        this.openSet.add(target);
+    }
+
+    @Override
+    public void cellChanged(int x, int y) {
+        if (this.isChanged != null && x >= 0 && y >= 0 && x < this.width && y < this.height) {
+            int cell = y * this.width + x;
+            if (!this.isChanged.get(cell)) {
+                this.isChanged.set(cell);
+                this.changedCells.add(cell);
+            }
+        }
+    }
+
+    @Override
+    public List<Point> step() {
+        CellBuffer exploredCells = new CellBuffer(this.width);
+        step(exploredCells);
+        return exploredCells.toPoints();
+    }
+
+    @Override
+    public void step(CellBuffer exploredCells) {
+        if (this.solutionPath != null) {
+            return;
+        }
+
+        // Keep going until the start is consistent and no inconsistent cell could lower its cost
+        if (this.openSet.isEmpty() || (!isBeforeStart(this.openSet.peek())
+                && this.gScore[this.start] == this.rhs[this.start])) {
+            if (this.gScore[this.start] != Double.MAX_VALUE) {
+                calculateSolutionPath();
+            }
+            return;
+        }
+
+        int current = this.openSet.peek();
+        double oldFirstKey = this.firstKeys[current];
+        double oldSecondKey = this.secondKeys[current];
+        calcKey(current);
+        if (oldFirstKey < this.firstKeys[current]
+                || (oldFirstKey == this.firstKeys[current] && oldSecondKey < this.secondKeys[current])) {
+            // The key was computed for an earlier start, so the cell may not be next after all
+            this.openSet.update(current);
+            return;
+        }
+
+        this.openSet.remove();
+        int x = current % this.width;
+        int y = current / this.width;
+        if (this.gScore[current] > this.rhs[current]) {
+            // Overconsistent: the cell got cheaper, which can only make its neighbors cheaper
+            this.gScore[current] = this.rhs[current];
+        } else {
+            // Underconsistent: the cell got more expensive, so its neighbors must be rechecked
+            this.gScore[current] = Double.MAX_VALUE;
+            updateCell(current);
+        }
+        updateCell(x, y - 1, exploredCells); // Up
+        updateCell(x + 1, y, exploredCells); // Right
+        updateCell(x, y + 1, exploredCells); // Down
+        updateCell(x - 1, y, exploredCells); // Left
+    }
+
+    /**
+     * Returns whether a cell in the open set is ordered before the start, using the key it was
+     * stored with.
+     *
+     * @param cell The cell index to check.
+     * @return True if the cell's stored key is lower than the start's current key.
+     */
+    private boolean isBeforeStart(int cell) {
+        double minScore = Math.min(this.gScore[this.start], this.rhs[this.start]);
+        double startKey = minScore + this.keyModifier;
+        return this.firstKeys[cell] < startKey || (this.firstKeys[cell] == startKey && this.secondKeys[cell] < minScore);
+    }
+
+    /**
+     * Recalculates the rhs of a neighboring cell, recording it as explored.
+     *
+     * @param x             The x-coordinate of the cell.
+     * @param y             The y-coordinate of the cell.
+     * @param exploredCells The buffer to add the cells explored during this iteration to.
+     */
+    private void updateCell(int x, int y, CellBuffer exploredCells) {
+        if (!this.graph.isOOB(x, y) && canLeave(this.graph.indexOf(x, y))) {
+            exploredCells.add(x, y);
+            updateCell(this.graph.indexOf(x, y));
+        }
+    }
+
+    /**
+     * Recalculates the rhs of a cell given by its coordinates, if it is in the graph.
+     *
+     * @param x The x-coordinate of the cell.
+     * @param y The y-coordinate of the cell.
+     */
+    private void updateCell(int x, int y) {
+        if (!this.graph.isOOB(x, y)) {
+            updateCell(this.graph.indexOf(x, y));
+        }
+    }
+
+    /**
+     * Recalculates the rhs of a cell from its neighbors, and adds it to or removes it from the open
+     * set depending on whether it is now inconsistent.
+     *
+     * @param cell The cell index to update.
+     */
+    private void updateCell(int cell) {
+        if (cell != this.target) {
+            double best = Double.MAX_VALUE;
+            if (canLeave(cell)) {
+                int x = cell % this.width;
+                int y = cell / this.width;
+                best = Math.min(best, costThrough(x, y - 1));
+                best = Math.min(best, costThrough(x + 1, y));
+                best = Math.min(best, costThrough(x, y + 1));
+                best = Math.min(best, costThrough(x - 1, y));
+            }
+            this.rhs[cell] = best;
+        }
+
+        boolean isInconsistent = this.gScore[cell] != this.rhs[cell];
+        if (isInconsistent) {
+            calcKey(cell);
+            if (this.openSet.contains(cell)) {
+                this.openSet.update(cell);
+            } else {
+                this.openSet.add(cell);
+            }
+        } else if (this.openSet.contains(cell)) {
+            this.openSet.delete(cell);
+        }
+    }
+
+    /**
+     * Returns the cost of reaching the target by moving onto a cell.
+     *
+     * @param x The x-coordinate of the cell.
+     * @param y The y-coordinate of the cell.
+     * @return The cost of the cell plus its gScore, or Double.MAX_VALUE if it can't be moved onto
+     * or can't reach the target.
+     */
+    private double costThrough(int x, int y) {
+        if (!this.graph.isOpen(x, y)) {
+            return Double.MAX_VALUE;
+        }
+        int cell = this.graph.indexOf(x, y);
+        if (this.gScore[cell] == Double.MAX_VALUE) {
+            return Double.MAX_VALUE;
+        }
+        return this.gScore[cell] + this.graph.getCost(cell);
+    }
+
+    /**
+     * Returns whether a path can continue from a cell. The start point isn't traversable, but
+     * paths still leave from it.
+     *
+     * @param cell The cell index to check.
+     * @return True if the cell is open or is the start, false otherwise.
+     */
+    private boolean canLeave(int cell) {
+        return cell == this.start || this.graph.isOpen(cell);
+    }
+
+    /**
+     * Stores the current keys of a cell.
+     *
+     * @param cell The cell index to calculate the keys of.
+     */
+    private void calcKey(int cell) {
+        double minScore = Math.min(this.gScore[cell], this.rhs[cell]);
+        this.secondKeys[cell] = minScore;
+        this.firstKeys[cell] = minScore == Double.MAX_VALUE ? Double.MAX_VALUE
+                : minScore + calcHeuristic(this.start, cell) + this.keyModifier;
+    }
+
+    /**
+     * Returns the Manhattan distance between two cells.
+     *
+     * @param a The cell index of the first cell.
+     * @param b The cell index of the second cell.
+     * @return The Manhattan distance between the two cells.
+     */
+    private double calcHeuristic(int a, int b) {
+        return Math.abs(a % this.width - b % this.width) + Math.abs(a / this.width - b / this.width);
+    }
+
+    /**
+     * Fills solutionPath with the nodes that make the path from the start point to the target
+     * point, by repeatedly moving to the neighbor with the lowest cost to the target. Nodes are
+     * ordered starting from the path start point to the path endpoint.
+     */
+    private void calculateSolutionPath() {
+        this.solutionPath = new LinkedList<>();
+
+        int cell = this.start;
+        this.solutionPath.add(new Point(cell % this.width, cell / this.width));
+        while (cell != this.target) {
+            int x = cell % this.width;
+            int y = cell / this.width;
+            int[] neighbors = {cell - this.width, cell + 1, cell + this.width, cell - 1};
+            double[] costs = {costThrough(x, y - 1), costThrough(x + 1, y), costThrough(x, y + 1), costThrough(x - 1, y)};
+            int next = -1;
+            double best = Double.MAX_VALUE;
+            for (int i = 0; i < 4; i++) {
+                if (costs[i] < best) {
+                    best = costs[i];
+                    next = neighbors[i];
+                }
+            }
+            cell = next;
+            this.solutionPath.add(new Point(cell % this.width, cell / this.width));
+        }
+    }
+
+    @Override
+    public Set<Point> getFrontier() {
+        Set<Point> frontier = new HashSet<>();
+        for (int i = 0; i < this.openSet.size(); i++) {
+            int cell = this.openSet.get(i);
+            frontier.add(new Point(cell % this.width, cell / this.width));
+        }
+        return frontier;
+    }
+
+    @Override
+    public boolean isFrontierEmpty() {
+        return this.openSet.isEmpty();
+    }
+
+    @Override
+    public List<Point> getSolution() {
+        return this.solutionPath;
+    }
+
+    @Override
+    public String toString() {
+        return "D* Lite";
+    }
+}
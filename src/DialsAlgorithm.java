@@ -0,0 +1,235 @@
+import java.awt.Point;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashSet;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Dial's Algorithm
+ * <p>
+ * A version of Dijkstra's Algorithm for graphs with small integer costs. Instead of a heap, nodes
+ * are kept in a circular array of buckets, where a node at distance d is stored in bucket
+ * d mod (max cost + 1). Since no node in the open set can be further than the max cost from the
+ * node currently being evaluated, each bucket only ever holds nodes of a single distance, and
+ * adding and removing nodes are both O(1).
+ */
+public class DialsAlgorithm implements Pathfinder {
+    private GridGraph graph;
+    private int width;
+    private int target; // Cell index of the target
+    private int[] distance; // The real cost to reach each cell
+    private int[] cameFrom; // Cell on the path back to the start, or -1 if none
+    private BitSet closedSet;
+    private IntQueue[] buckets;
+    private int currentDistance; // Distance of the bucket currently being emptied
+    private int openCount; // Number of entries in all buckets, including outdated ones
+    private boolean frontierTracked; // Whether frontier changes are recorded, once they've been asked for
+    private CellBuffer frontierAdded; // Cells opened since the frontier changes were reported
+    private CellBuffer frontierRemoved; // Cells closed since then
+    private List<Point> solutionPath;
+
+    @Override
+    public void initialize(GridGraph graph, Point start, Point target) {
+        int size = graph.size();
+        if (this.distance == null || this.distance.length != size) {
+            this.distance = new int[size];
+            this.cameFrom = new int[size];
+            this.closedSet = new BitSet(size);
+        } else {
+            this.closedSet.clear();
+        }
+        Arrays.fill(this.distance, Integer.MAX_VALUE);
+        Arrays.fill(this.cameFrom, -1);
+
+        this.buckets = new IntQueue[graph.getMaxCost() + 1];
+        for (int i = 0; i < this.buckets.length; i++) {
+            this.buckets[i] = new IntQueue();
+        }
+
+        this.graph = graph;
+        this.width = graph.getWidth();
+        this.target = graph.indexOf(target.x, target.y);
+        this.solutionPath = null;
+        this.frontierAdded = new CellBuffer(this.width);
+        this.frontierRemoved = new CellBuffer(this.width);
+
+        int startIndex = graph.indexOf(start.x, start.y);
+        this.distance[startIndex] = 0;
+        this.currentDistance = 0;
+        this.buckets[0].add(startIndex);
+        this.openCount = 1;
+        this.frontierTracked = false;
+    }
+
+    @Override
+    public List<Point> step() {
+        CellBuffer exploredCells = new CellBuffer(this.width);
+        step(exploredCells);
+        return exploredCells.toPoints();
+    }
+
+    @Override
+    public void step(CellBuffer exploredCells) {
+        int current = nextOpenCell();
+        if (current != -1) {
+            if (current == this.target) {
+                calculateSolutionPath(current);
+            }
+
+            this.closedSet.set(current);
+            if (this.frontierTracked) {
+                this.frontierRemoved.accept(current);
+            }
+
+            int x = current % this.width;
+            int y = current / this.width;
+            relax(current, x, y - 1, exploredCells); // Up
+            relax(current, x + 1, y, exploredCells); // Right
+            relax(current, x, y + 1, exploredCells); // Down
+            relax(current, x - 1, y, exploredCells); // Left
+        }
+    }
+
+    /**
+     * Removes and returns the open cell with the lowest distance. Entries left behind in the
+     * buckets by cells whose distance has since decreased are skipped.
+     *
+     * @return The cell index of the open cell with the lowest distance, or -1 if there are no open
+     * cells.
+     */
+    private int nextOpenCell() {
+        while (this.openCount > 0) {
+            IntQueue bucket = this.buckets[this.currentDistance % this.buckets.length];
+            if (bucket.isEmpty()) {
+                this.currentDistance++;
+                continue;
+            }
+
+            int cell = bucket.remove();
+            this.openCount--;
+            if (!this.closedSet.get(cell) && this.distance[cell] == this.currentDistance) {
+                return cell;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Evaluates the path to a neighbor of the current node, updating the neighbor if it is better
+     * than any path found to it so far.
+     *
+     * @param current       The cell index of the node currently being evaluated.
+     * @param x             The x-coordinate of the neighbor.
+     * @param y             The y-coordinate of the neighbor.
+     * @param exploredCells The buffer to add the cells explored during this iteration to.
+     */
+    private void relax(int current, int x, int y, CellBuffer exploredCells) {
+        // Ignore nodes that aren't traversable and already evaluated nodes
+        if (!this.graph.isOpen(x, y)) {
+            return;
+        }
+        int neighbor = y * this.width + x;
+        if (this.closedSet.get(neighbor)) {
+            return;
+        }
+
+        exploredCells.add(x, y);
+
+        int tentativeDistance = this.distance[current] + this.graph.getCost(neighbor);
+        if (tentativeDistance < this.distance[neighbor]) {
+            if (this.frontierTracked && this.distance[neighbor] == Integer.MAX_VALUE) {
+                this.frontierAdded.accept(neighbor);
+            }
+
+            // This is a better path. Any older entry for the neighbor is skipped when reached.
+            this.cameFrom[neighbor] = current;
+            this.distance[neighbor] = tentativeDistance;
+            this.buckets[tentativeDistance % this.buckets.length].add(neighbor);
+            this.openCount++;
+        }
+    }
+
+    /**
+     * Fills solutionPath with the nodes that make the path from the start point to the target
+     * point. Nodes are ordered starting from the path start point to the path endpoint.
+     *
+     * @param target The cell index of the end node of the path.
+     */
+    private void calculateSolutionPath(int target) {
+        this.solutionPath = new LinkedList<>();
+
+        while (target != -1) {
+            this.solutionPath.add(0, new Point(target % this.width, target / this.width));
+            target = this.cameFrom[target];
+        }
+    }
+
+    @Override
+    public Set<Point> getFrontier() {
+        Set<Point> frontier = new HashSet<>();
+        for (IntQueue bucket : this.buckets) {
+            for (int i = 0; i < bucket.size(); i++) {
+                int cell = bucket.get(i);
+                if (!this.closedSet.get(cell)) {
+                    frontier.add(new Point(cell % this.width, cell / this.width));
+                }
+            }
+        }
+        return frontier;
+    }
+
+    @Override
+    public boolean isFrontierEmpty() {
+        // Outdated entries are left in the buckets, so the frontier is only empty if every entry is
+        // of a closed cell
+        for (IntQueue bucket : this.buckets) {
+            for (int i = 0; i < bucket.size(); i++) {
+                if (!this.closedSet.get(bucket.get(i))) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public List<Point> solve(PathfinderData data, CellBuffer explored, int maxSteps) {
+        // Nothing is drawn while solving, so changes to the frontier aren't recorded until they're
+        // asked for again
+        this.frontierTracked = false;
+        this.frontierAdded.clear();
+        this.frontierRemoved.clear();
+        return Pathfinder.super.solve(data, explored, maxSteps);
+    }
+
+    @Override
+    public boolean getFrontierChanges(CellBuffer added, CellBuffer removed) {
+        // Changes are only recorded once they're first asked for, so until then the whole frontier
+        // has joined it
+        if (!this.frontierTracked) {
+            for (Point p : getFrontier()) {
+                added.add(p.x, p.y);
+            }
+            this.frontierTracked = true;
+            return true;
+        }
+
+        added.addAll(this.frontierAdded);
+        removed.addAll(this.frontierRemoved);
+        this.frontierAdded.clear();
+        this.frontierRemoved.clear();
+        return true;
+    }
+
+    @Override
+    public List<Point> getSolution() {
+        return this.solutionPath;
+    }
+
+    @Override
+    public String toString() {
+        return "Dial's Algorithm";
+    }
+}
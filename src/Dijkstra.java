@@ -1,11 +1,9 @@
-import java.awt.Point;
-
 /**
  * Dijkstra's Algorithm.
  */
 public class Dijkstra extends AStar {
     @Override
-    protected double calcHeuristic(Point p1, Point p2) {
+    protected double calcHeuristic(int x1, int y1, int x2, int y2) {
         // Dijkstra's Algorithm is a special case of A* where the heuristic is 0
         return 0;
     }
@@ -0,0 +1,92 @@
+import java.awt.Point;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The cost of reaching one target from every cell of a graph. Once computed, the cheapest path to
+ * the target from any cell can be found in time proportional to the length of the path, by always
+ * moving to the neighbor closest to the target, which makes it cheap to route many starts to the
+ * same target.
+ *
+ * @since v1.5.16
+ */
+public class FlowField {
+    private final GridGraph graph;
+    private final int target;
+    private final int[] distance; // Cost of reaching the target from each cell
+
+    /**
+     * Computes the flow field of a target.
+     *
+     * @param graph  The graph to compute the field over.
+     * @param target The target point.
+     */
+    public FlowField(GridGraph graph, Point target) {
+        this.graph = graph;
+        this.target = graph.indexOf(target.x, target.y);
+        this.distance = GridDistances.computeTo(graph, this.target);
+    }
+
+    /**
+     * Returns the graph the field was computed over.
+     *
+     * @return The graph the field was computed over.
+     */
+    public GridGraph getGraph() {
+        return this.graph;
+    }
+
+    /**
+     * Returns the cost of the cheapest path from a cell to the target. Cells that aren't open,
+     * other than the target, can't be moved through and are unreachable.
+     *
+     * @param x The x-coordinate of the cell.
+     * @param y The y-coordinate of the cell.
+     * @return The cost of reaching the target, or GridDistances.UNREACHABLE if it can't be reached.
+     */
+    public int getDistance(int x, int y) {
+        return this.distance[this.graph.indexOf(x, y)];
+    }
+
+    /**
+     * Returns the cheapest path from a point to the target. The start itself does not need to be
+     * open.
+     *
+     * @param start The point to start from.
+     * @return The points of the path, from the start to the target inclusive, or null if the
+     * target can't be reached.
+     */
+    public List<Point> getPath(Point start) {
+        List<Point> path = new ArrayList<>();
+        int width = this.graph.getWidth();
+        int cell = this.graph.indexOf(start.x, start.y);
+        path.add(new Point(start));
+
+        while (cell != this.target) {
+            // Move to the neighbor that leaves the least cost to go
+            int x = cell % width;
+            int y = cell / width;
+            int[] neighbors = {cell - width, cell + 1, cell + width, cell - 1};
+            boolean[] isOpen = {this.graph.isOpen(x, y - 1), this.graph.isOpen(x + 1, y),
+                    this.graph.isOpen(x, y + 1), this.graph.isOpen(x - 1, y)};
+            int next = -1;
+            long best = GridDistances.UNREACHABLE;
+            for (int i = 0; i < 4; i++) {
+                if (isOpen[i] && this.distance[neighbors[i]] != GridDistances.UNREACHABLE) {
+                    long cost = (long) this.graph.getCost(neighbors[i]) + this.distance[neighbors[i]];
+                    if (cost < best) {
+                        best = cost;
+                        next = neighbors[i];
+                    }
+                }
+            }
+            if (next == -1) {
+                return null;
+            }
+            cell = next;
+            path.add(new Point(cell % width, cell / width));
+        }
+
+        return path;
+    }
+}
@@ -0,0 +1,54 @@
+import java.awt.Point;
+
+/**
+ * A* Search using a flow field of the target as its heuristic. The field gives the exact cost of
+ * reaching the target from every cell, so only nodes on the cheapest paths are expanded. Fields
+ * are cached, so searching again towards the same target on the same terrain skips computing it.
+ * To read paths straight from the fields without searching, use {@link FlowFieldCache#getPath}.
+ */
+public class FlowFieldAStar extends AStar implements TerrainListener {
+    private final FlowFieldCache cache;
+    private FlowField field;
+
+    /**
+     * Creates a new pathfinder with its own cache of flow fields.
+     */
+    public FlowFieldAStar() {
+        this(new FlowFieldCache());
+    }
+
+    /**
+     * Creates a new pathfinder.
+     *
+     * @param cache The cache to get flow fields from, which may be shared with other pathfinders.
+     */
+    public FlowFieldAStar(FlowFieldCache cache) {
+        this.cache = cache;
+    }
+
+    @Override
+    public void initialize(GridGraph graph, Point start, Point target) {
+        this.field = this.cache.get(graph, target);
+        super.initialize(graph, start, target);
+    }
+
+    @Override
+    protected double calcHeuristic(int x1, int y1, int x2, int y2) {
+        int distance = this.field.getDistance(x1, y1);
+        if (distance == GridDistances.UNREACHABLE) {
+            // Can't reach the target from here, so any estimate will do
+            return super.calcHeuristic(x1, y1, x2, y2);
+        }
+        return distance;
+    }
+
+    @Override
+    public void cellChanged(int x, int y) {
+        this.cache.cellChanged(x, y);
+    }
+
+    @Override
+    public String toString() {
+        return "A* with Flow Field";
+    }
+}
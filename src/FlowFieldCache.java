@@ -0,0 +1,115 @@
+import java.awt.Point;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Cache of the most recently used flow fields, keyed by target and terrain version. A cached field
+ * is only returned for the graph it was computed over, so graphs of different terrains that share
+ * a version, such as maps that were read from files, never get each other's fields. Every field is
+ * discarded as soon as any cell changes.
+ * <p>
+ * Many paths to the same target can be read from one cached field with {@link #getPath}, in time
+ * proportional to the length of each path, rather than searching for each of them.
+ * <p>
+ * The cache is safe to use from multiple threads. Fields are computed outside of the lock, so
+ * different targets can be computed at the same time.
+ *
+ * @since v1.5.16
+ */
+public class FlowFieldCache implements TerrainListener {
+    /**
+     * Default number of fields kept.
+     */
+    public static final int DEFAULT_CAPACITY = 16;
+
+    private final Map<Long, FlowField> fields;
+
+    /**
+     * Creates a new empty cache holding the default number of fields.
+     */
+    public FlowFieldCache() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Creates a new empty cache.
+     *
+     * @param capacity The number of fields to keep. The least recently used field is discarded
+     *                 when there are more.
+     * @throws IllegalArgumentException If the capacity is not positive.
+     */
+    public FlowFieldCache(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be positive.");
+        }
+        this.fields = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, FlowField> eldest) {
+                return size() > capacity;
+            }
+        };
+    }
+
+    /**
+     * Returns the flow field of a target, computing it if it isn't cached.
+     *
+     * @param graph  The terrain to get the field of.
+     * @param target The target point.
+     * @return The flow field of the target over the graph.
+     */
+    public FlowField get(GridGraph graph, Point target) {
+        long key = ((long) graph.getVersion() << 32) | graph.indexOf(target.x, target.y);
+        synchronized (this) {
+            // Graphs are compared by identity, as comparing their costs would take as long as
+            // computing the field
+            FlowField field = this.fields.get(key);
+            if (field != null && field.getGraph() == graph) {
+                return field;
+            }
+        }
+
+        FlowField field = new FlowField(graph, target);
+        synchronized (this) {
+            this.fields.put(key, field);
+        }
+        return field;
+    }
+
+    /**
+     * Returns the cheapest path from a point to a target, read from the target's flow field. Only
+     * the first path to a target computes its field, so later paths to it take time proportional
+     * to their length.
+     *
+     * @param graph  The terrain to find the path over.
+     * @param start  The point to start from.
+     * @param target The target point.
+     * @return The points of the path, from the start to the target inclusive, or null if the
+     * target can't be reached.
+     * @since v1.5.27
+     */
+    public List<Point> getPath(GridGraph graph, Point start, Point target) {
+        return get(graph, target).getPath(start);
+    }
+
+    /**
+     * Returns the number of fields in the cache.
+     *
+     * @return The number of cached fields.
+     */
+    public synchronized int size() {
+        return this.fields.size();
+    }
+
+    /**
+     * Discards every cached field.
+     */
+    public synchronized void clear() {
+        this.fields.clear();
+    }
+
+    @Override
+    public void cellChanged(int x, int y) {
+        clear();
+    }
+}
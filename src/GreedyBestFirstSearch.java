@@ -4,16 +4,16 @@
 // TODO Check gScore. Is cost being included as a "greedy" factor?
 public class GreedyBestFirstSearch extends AStar {
     /**
-     * Returns a tentative gScore (real cost to reach this node) for the given neighbor of a given
-     * node.
+     * Returns a tentative gScore (real cost to reach this node) for a neighbor of the node
+     * currently being evaluated.
      *
-     * @param current  The node currently being evaluated.
-     * @param neighbor The neighbor of the current node being evaluated.
+     * @param currentGScore The gScore of the node currently being evaluated.
+     * @param neighborCost  The cost to travel onto the neighbor.
      * @return The tentative gScore of the neighboring node.
      */
     @Override
-    protected double calcTentativeGScore(Node current, Node neighbor) {
-        return Main.getCost(neighbor.point);
+    protected double calcTentativeGScore(double currentGScore, int neighborCost) {
+        return neighborCost;
     }
 
     @Override
@@ -0,0 +1,145 @@
+import java.util.Arrays;
+
+/**
+ * Whole-graph distance computations shared by pathfinders that precompute data about the terrain.
+ * Distances are found with Dial's Algorithm, since every cost is a small integer.
+ *
+ * @since v1.5.15
+ */
+public class GridDistances {
+    /**
+     * Distance of cells that can't be reached.
+     */
+    public static final int UNREACHABLE = Integer.MAX_VALUE;
+
+    private GridDistances() {
+    }
+
+    /**
+     * Returns the cost of the cheapest path from the nearest of the given cells to every cell.
+     *
+     * @param graph   The graph to search.
+     * @param sources The cell indices to search from.
+     * @return The cost of reaching each cell from the nearest source, or UNREACHABLE if none can.
+     */
+    public static int[] computeFrom(GridGraph graph, int... sources) {
+        return compute(graph, sources, false);
+    }
+
+    /**
+     * Returns the cost of the cheapest path from every cell to the nearest of the given cells.
+     *
+     * @param graph   The graph to search.
+     * @param targets The cell indices to search to.
+     * @return The cost of reaching the nearest target from each cell, or UNREACHABLE if none can be
+     * reached.
+     */
+    public static int[] computeTo(GridGraph graph, int... targets) {
+        return compute(graph, targets, true);
+    }
+
+    /**
+     * Runs Dial's Algorithm over the whole graph from a set of cells.
+     *
+     * @param graph     The graph to search.
+     * @param origins   The cell indices to search from.
+     * @param isReverse Whether to find costs of paths to the origins rather than from them.
+     * @return The cost between each cell and the nearest origin, or UNREACHABLE.
+     */
+    private static int[] compute(GridGraph graph, int[] origins, boolean isReverse) {
+        int width = graph.getWidth();
+        int[] distance = new int[graph.size()];
+        Arrays.fill(distance, UNREACHABLE);
+
+        // Every open cell costs at most the max cost, so bucket d mod (max cost + 1) only ever
+        // holds cells at distance d
+        IntQueue[] buckets = new IntQueue[graph.getMaxCost() + 1];
+        for (int i = 0; i < buckets.length; i++) {
+            buckets[i] = new IntQueue();
+        }
+        int openCount = 0;
+        for (int origin : origins) {
+            if (distance[origin] != 0) {
+                distance[origin] = 0;
+                buckets[0].add(origin);
+                openCount++;
+            }
+        }
+
+        int[] dx = {0, 1, 0, -1};
+        int[] dy = {-1, 0, 1, 0};
+        for (int d = 0; openCount > 0; d++) {
+            IntQueue bucket = buckets[d % buckets.length];
+            while (!bucket.isEmpty()) {
+                int cell = bucket.remove();
+                openCount--;
+                if (distance[cell] != d) {
+                    continue; // Outdated entry, the cell was reached more cheaply since
+                }
+
+                int x = cell % width;
+                int y = cell / width;
+                for (int i = 0; i < 4; i++) {
+                    if (!graph.isOpen(x + dx[i], y + dy[i])) {
+                        continue;
+                    }
+                    int neighbor = cell + dy[i] * width + dx[i];
+                    // Going backward, a step costs the cost of the cell being moved off of
+                    int newDistance = d + (isReverse ? graph.getCost(cell) : graph.getCost(neighbor));
+                    if (newDistance < distance[neighbor]) {
+                        distance[neighbor] = newDistance;
+                        buckets[newDistance % buckets.length].add(neighbor);
+                        openCount++;
+                    }
+                }
+            }
+        }
+
+        return distance;
+    }
+
+    /**
+     * Labels the connected components of the open cells of a graph.
+     *
+     * @param graph  The graph to label.
+     * @param labels Filled with the component of each cell, numbered from 0, or -1 for cells that
+     *               aren't open. Must have a length of at least the size of the graph.
+     * @return The number of components.
+     */
+    public static int labelComponents(GridGraph graph, int[] labels) {
+        int width = graph.getWidth();
+        Arrays.fill(labels, 0, graph.size(), -1);
+        IntQueue queue = new IntQueue();
+        int count = 0;
+
+        for (int seed = 0; seed < graph.size(); seed++) {
+            if (labels[seed] != -1 || !graph.isOpen(seed)) {
+                continue;
+            }
+            labels[seed] = count;
+            queue.add(seed);
+            while (!queue.isEmpty()) {
+                int cell = queue.remove();
+                int x = cell % width;
+                int y = cell / width;
+                labelNeighbor(graph, labels, queue, x, y - 1, count);
+                labelNeighbor(graph, labels, queue, x + 1, y, count);
+                labelNeighbor(graph, labels, queue, x, y + 1, count);
+                labelNeighbor(graph, labels, queue, x - 1, y, count);
+            }
+            count++;
+        }
+
+        return count;
+    }
+
+    private static void labelNeighbor(GridGraph graph, int[] labels, IntQueue queue, int x, int y, int label) {
+        if (graph.isOpen(x, y)) {
+            int cell = graph.indexOf(x, y);
+            if (labels[cell] == -1) {
+                labels[cell] = label;
+                queue.add(cell);
+            }
+        }
+    }
+}
@@ -0,0 +1,156 @@
+/**
+ * Immutable snapshot of the traversal costs of a grid. Pathfinders search over a GridGraph instead
+ * of the grid being displayed, so a search can run on any thread and against any terrain, and many
+ * searches can safely share the same snapshot.
+ * <p>
+ * Cells are identified either by their xy-coordinates or by their index (y * width + x). Every
+ * cell has a cost of 0 if it is not traversable, or the cost to travel onto it otherwise.
+ *
+ * @since v1.5.9
+ */
+public class GridGraph {
+    private final int width;
+    private final int height;
+    private final byte[] costs;
+    private final int version;
+    private final int maxCost;
+
+    /**
+     * Creates a new graph from the given traversal costs. The costs array is not copied, so it must
+     * not be modified after the graph is created.
+     *
+     * @param width   The width of the grid in cells.
+     * @param height  The height of the grid in cells.
+     * @param costs   The cost to travel onto each cell, indexed by (y * width + x). A cost of 0
+     *                marks a cell that is not traversable. Costs are read as unsigned bytes.
+     * @param version The version of the terrain this graph was taken from. Graphs of the same
+     *                terrain with equal versions have equal costs.
+     * @throws IllegalArgumentException If the dimensions are not positive or do not match the
+     *                                  number of costs.
+     */
+    public GridGraph(int width, int height, byte[] costs, int version) {
+        if (width <= 0 || height <= 0 || (long) width * height != costs.length) {
+            throw new IllegalArgumentException("Grid dimensions must be positive and match the number of costs.");
+        }
+        this.width = width;
+        this.height = height;
+        this.costs = costs;
+        this.version = version;
+
+        int maxCost = 0;
+        for (byte cost : costs) {
+            maxCost = Math.max(maxCost, cost & 0xFF);
+        }
+        this.maxCost = maxCost;
+    }
+
+    /**
+     * Returns the width of the grid in number of cells.
+     *
+     * @return Number of cells wide the grid is.
+     */
+    public int getWidth() {
+        return this.width;
+    }
+
+    /**
+     * Returns the height of the grid in number of cells.
+     *
+     * @return Number of cells high the grid is.
+     */
+    public int getHeight() {
+        return this.height;
+    }
+
+    /**
+     * Returns the number of cells in the grid.
+     *
+     * @return The number of cells in the grid.
+     */
+    public int size() {
+        return this.costs.length;
+    }
+
+    /**
+     * Returns the version of the terrain this graph was taken from.
+     *
+     * @return The version of the terrain this graph was taken from.
+     */
+    public int getVersion() {
+        return this.version;
+    }
+
+    /**
+     * Returns the highest cost to travel onto any cell in the grid.
+     *
+     * @return The highest traversal cost in the grid, or 0 if no cell is traversable.
+     * @since v1.5.10
+     */
+    public int getMaxCost() {
+        return this.maxCost;
+    }
+
+    /**
+     * Returns the index of the cell at the given coordinates. The coordinates are not checked.
+     *
+     * @param x The x-coordinate of the cell.
+     * @param y The y-coordinate of the cell.
+     * @return The index of the cell.
+     */
+    public int indexOf(int x, int y) {
+        return y * this.width + x;
+    }
+
+    /**
+     * Returns whether the given coordinates are out-of-bounds of the grid.
+     *
+     * @param x The x-coordinate to check.
+     * @param y The y-coordinate to check.
+     * @return True if the given coordinates are out-of-bounds of the grid, false otherwise.
+     */
+    public boolean isOOB(int x, int y) {
+        return x < 0 || y < 0 || x >= this.width || y >= this.height;
+    }
+
+    /**
+     * Returns whether a cell is traversable as part of a path.
+     *
+     * @param x The x-coordinate of the cell to check.
+     * @param y The y-coordinate of the cell to check.
+     * @return True if the cell is in the grid and is traversable, false otherwise.
+     */
+    public boolean isOpen(int x, int y) {
+        return !isOOB(x, y) && this.costs[y * this.width + x] != 0;
+    }
+
+    /**
+     * Returns whether a cell is traversable as part of a path.
+     *
+     * @param index The index of the cell to check. Must be in the grid.
+     * @return True if the cell is traversable, false otherwise.
+     */
+    public boolean isOpen(int index) {
+        return this.costs[index] != 0;
+    }
+
+    /**
+     * Returns the cost to travel onto the given cell.
+     *
+     * @param index The index of the cell. Must be in the grid.
+     * @return The cost to travel onto the cell, or 0 if it is not traversable.
+     */
+    public int getCost(int index) {
+        return this.costs[index] & 0xFF;
+    }
+
+    /**
+     * Returns the cost to travel onto the given cell.
+     *
+     * @param x The x-coordinate of the cell. Must be in the grid.
+     * @param y The y-coordinate of the cell. Must be in the grid.
+     * @return The cost to travel onto the cell, or 0 if it is not traversable.
+     */
+    public int getCost(int x, int y) {
+        return this.costs[y * this.width + x] & 0xFF;
+    }
+}
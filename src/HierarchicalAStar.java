@@ -0,0 +1,837 @@
+import java.awt.Point;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashSet;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Hierarchical Pathfinding A* (HPA*)
+ * <p>
+ * The grid is split into square clusters. Wherever two neighboring clusters share an open border,
+ * one or two entrances are placed on it, and the cheapest paths between the entrances of each
+ * cluster are precomputed. Searching then happens on the much smaller graph of entrances, and only
+ * the clusters the resulting path runs through are searched cell by cell to fill in the path.
+ * <p>
+ * The clusters are kept between searches. When cells change, only the clusters containing them
+ * (and their neighbors, if an entrance moved) are updated. Changes must be reported through
+ * {@link #cellChanged(int, int)}; searching a graph of a different size rebuilds everything.
+ * <p>
+ * Paths found are close to, but not always, the cheapest.
+ */
+public class HierarchicalAStar implements Pathfinder, TerrainListener {
+    /**
+     * Default width and height of each cluster in cells.
+     */
+    public static final int DEFAULT_CLUSTER_SIZE = 10;
+    /**
+     * Open runs along a border at least this long get an entrance at each end instead of one in
+     * the middle.
+     */
+    private static final int MIN_SPLIT_RUN = 6;
+    /**
+     * Spare ids reserved for each cluster when ids are assigned, so that a cluster can gain a few
+     * entrances without the ids of every other cluster changing.
+     */
+    private static final int SPARE_IDS = 4;
+    private static final int[] NO_PARTNERS = new int[0];
+    private static final int UNREACHABLE = Integer.MAX_VALUE;
+
+    private final int clusterSize;
+
+    // Abstraction of the graph, kept between searches
+    private GridGraph graph;
+    private int width;
+    private int height;
+    private int clustersX;
+    private int clustersY;
+    private int[][] rightBorders; // Entrance cell pairs (own, neighbor) with the cluster to the right
+    private int[][] bottomBorders; // Entrance cell pairs (own, neighbor) with the cluster below
+    private int[][] entrances; // Entrance cells of each cluster
+    private int[][][] partners; // Cells across a border from each entrance
+    private int[][] intraCosts; // Cheapest path costs between entrances, k * k per cluster
+    private int[] offsets; // Id of the first entrance of each cluster
+    private int[] capacities; // Number of ids reserved for each cluster, including unused ones
+    private int[] idCells; // Cell of each entrance id, or -1 if the id is unused
+    private int[] idClusters; // Cluster of each entrance id
+    private int[][] idPartners; // Ids of the entrances across a border from each entrance id
+    private int entranceCount; // Number of ids reserved for entrances
+    private BitSet dirtyClusters; // Clusters containing cells that changed since the last update
+
+    // Scratch space for searches restricted to a single cluster, indexed by local cell
+    private double[] localDistance;
+    private int[] localCameFrom;
+    private IndexedHeap localOpenSet;
+
+    // The current search over the entrances. Ids past the entrances are the start and target.
+    private int start;
+    private int target;
+    private int startCluster;
+    private int targetCluster;
+    private IntQueue startLinkIds = new IntQueue(); // Ids the start has an edge to
+    private IntQueue startLinkCosts = new IntQueue(); // Cost of each of the start's edges
+    private IntQueue startLinkVias = new IntQueue(); // Neighbor of the start each edge leaves through, or -1
+    private int[] targetLinks; // Cost from each entrance of the target's cluster to the target
+    private double[] gScore;
+    private double[] fScore;
+    private int[] cameFrom;
+    private BitSet closedSet;
+    private IndexedHeap openSet; // Ordered by fScore
+    private List<Point> solutionPath;
+
+    /**
+     * Creates a new pathfinder with clusters of the default size.
+     */
+    public HierarchicalAStar() {
+        this(DEFAULT_CLUSTER_SIZE);
+    }
+
+    /**
+     * Creates a new pathfinder.
+     *
+     * @param clusterSize The width and height of each cluster in cells.
+     * @throws IllegalArgumentException If the cluster size is less than 2.
+     */
+    public HierarchicalAStar(int clusterSize) {
+        if (clusterSize < 2) {
+            throw new IllegalArgumentException("Clusters must be at least 2 cells wide.");
+        }
+        this.clusterSize = clusterSize;
+        int area = clusterSize * clusterSize;
+        this.localDistance = new double[area];
+        this.localCameFrom = new int[area];
+        this.localOpenSet = new IndexedHeap(area, this.localDistance);
+    }
+
+    @Override
+    public void initialize(GridGraph graph, Point start, Point target) {
+        if (this.graph == null || graph.getWidth() != this.width || graph.getHeight() != this.height) {
+            buildAbstraction(graph);
+        } else if (graph != this.graph) {
+            this.graph = graph;
+            updateAbstraction();
+        }
+
+        this.start = graph.indexOf(start.x, start.y);
+        this.target = graph.indexOf(target.x, target.y);
+        this.startCluster = clusterOf(this.start);
+        this.targetCluster = clusterOf(this.target);
+        this.solutionPath = null;
+
+        // Link the start and target to the entrances of their clusters. The start point isn't
+        // traversable, so it can't be an entrance, but it can still step straight into a
+        // neighboring cluster.
+        this.startLinkIds.clear();
+        this.startLinkCosts.clear();
+        this.startLinkVias.clear();
+        linkStart(this.startCluster, this.start, 0, -1);
+        int[] dx = {0, 1, 0, -1};
+        int[] dy = {-1, 0, 1, 0};
+        for (int d = 0; d < 4; d++) {
+            int x = start.x + dx[d];
+            int y = start.y + dy[d];
+            if (graph.isOpen(x, y)) {
+                int neighbor = graph.indexOf(x, y);
+                int cluster = clusterOf(neighbor);
+                if (cluster != this.startCluster) {
+                    linkStart(cluster, neighbor, graph.getCost(neighbor), neighbor);
+                }
+            }
+        }
+        searchCluster(this.targetCluster, this.target, true, -1);
+        this.targetLinks = localCosts(this.targetCluster);
+
+        int size = this.entranceCount + 2;
+        if (this.gScore == null || this.gScore.length != size) {
+            this.gScore = new double[size];
+            this.fScore = new double[size];
+            this.cameFrom = new int[size];
+            this.closedSet = new BitSet(size);
+            this.openSet = new IndexedHeap(size, this.fScore);
+        } else {
+            this.closedSet.clear();
+            this.openSet.clear();
+        }
+        Arrays.fill(this.gScore, Double.MAX_VALUE);
+        Arrays.fill(this.fScore, Double.MAX_VALUE);
+        Arrays.fill(this.cameFrom, -1);
+
+        int startId = this.entranceCount;
+        this.gScore[startId] = 0;
+        this.fScore[startId] = calcHeuristic(this.start);
+        this.openSet.add(startId);
+    }
+
+    @Override
+    public void cellChanged(int x, int y) {
+        if (this.dirtyClusters != null && x >= 0 && y >= 0 && x < this.width && y < this.height) {
+            this.dirtyClusters.set((y / this.clusterSize) * this.clustersX + x / this.clusterSize);
+        }
+    }
+
+    @Override
+    public List<Point> step() {
+        CellBuffer exploredCells = new CellBuffer(this.width);
+        step(exploredCells);
+        return exploredCells.toPoints();
+    }
+
+    @Override
+    public void step(CellBuffer exploredCells) {
+        if (!this.openSet.isEmpty()) {
+            // Get the entrance with the lowest fScore
+            int current = this.openSet.remove();
+            int startId = this.entranceCount;
+            int targetId = this.entranceCount + 1;
+
+            if (current == targetId) {
+                calculateSolutionPath();
+            }
+
+            this.closedSet.set(current);
+
+            if (current == startId) {
+                for (int i = 0; i < this.startLinkIds.size(); i++) {
+                    relax(current, this.startLinkIds.get(i), this.startLinkCosts.get(i), exploredCells);
+                }
+            } else if (current != targetId) {
+                int cluster = this.idClusters[current];
+                int offset = this.offsets[cluster];
+                int i = current - offset;
+                int k = this.entrances[cluster].length;
+
+                // Other entrances of the same cluster
+                for (int j = 0; j < k; j++) {
+                    if (j != i) {
+                        relax(current, offset + j, this.intraCosts[cluster][i * k + j], exploredCells);
+                    }
+                }
+                // Entrances across the border
+                for (int partner : this.idPartners[current]) {
+                    relax(current, partner, this.graph.getCost(this.idCells[partner]), exploredCells);
+                }
+                // The target, if it's in this cluster
+                if (cluster == this.targetCluster) {
+                    relax(current, targetId, this.targetLinks[i], exploredCells);
+                }
+            }
+        }
+    }
+
+    /**
+     * Adds edges from the start to every entrance of a cluster reachable from a cell inside it, and
+     * to the target if it is in the cluster.
+     *
+     * @param cluster  The cluster to link the start to.
+     * @param origin   The cell index to search the cluster from.
+     * @param baseCost The cost of reaching the origin from the start.
+     * @param via      The cell index of the origin if it is a neighbor of the start, or -1 if it is
+     *                 the start itself.
+     */
+    private void linkStart(int cluster, int origin, int baseCost, int via) {
+        searchCluster(cluster, origin, false, -1);
+        int[] cells = this.entrances[cluster];
+        for (int j = 0; j <= cells.length; j++) {
+            int id;
+            int cost;
+            if (j < cells.length) {
+                id = this.offsets[cluster] + j;
+                cost = localCost(cluster, cells[j]);
+            } else if (cluster == this.targetCluster) {
+                id = this.entranceCount + 1;
+                cost = localCost(cluster, this.target);
+            } else {
+                break;
+            }
+            if (cost != UNREACHABLE) {
+                this.startLinkIds.add(id);
+                this.startLinkCosts.add(baseCost + cost);
+                this.startLinkVias.add(via);
+            }
+        }
+    }
+
+    /**
+     * Evaluates the path to a neighbor of the current entrance, updating the neighbor if it is
+     * better than any path found to it so far.
+     *
+     * @param current       The id of the entrance currently being evaluated.
+     * @param neighbor      The id of the neighboring entrance.
+     * @param cost          The cost to travel from the current entrance to the neighbor.
+     * @param exploredCells The buffer to add the cells explored during this iteration to.
+     */
+    private void relax(int current, int neighbor, int cost, CellBuffer exploredCells) {
+        if (cost == UNREACHABLE || this.closedSet.get(neighbor)) {
+            return;
+        }
+
+        int cell = cellOf(neighbor);
+        exploredCells.accept(cell);
+
+        double tentativeGScore = this.gScore[current] + cost;
+        if (tentativeGScore < this.gScore[neighbor]) {
+            this.cameFrom[neighbor] = current;
+            this.gScore[neighbor] = tentativeGScore;
+            this.fScore[neighbor] = tentativeGScore + calcHeuristic(cell);
+
+            if (this.openSet.contains(neighbor)) {
+                this.openSet.update(neighbor);
+            } else {
+                this.openSet.add(neighbor);
+            }
+        }
+    }
+
+    /**
+     * Returns the Manhattan distance between a cell and the target, scaled up very slightly to
+     * break ties between the many entrances with the same fScore in favor of those closer to the
+     * target.
+     *
+     * @param cell The cell index to calculate the heuristic of.
+     * @return The Manhattan distance between the cell and the target, times 1.001.
+     */
+    private double calcHeuristic(int cell) {
+        return 1.001 * (Math.abs(cell % this.width - this.target % this.width) + Math.abs(cell / this.width - this.target / this.width));
+    }
+
+    /**
+     * Fills solutionPath with the cells that make the path from the start point to the target
+     * point. The path between each pair of entrances in the same cluster is found by searching
+     * that cluster. Nodes are ordered starting from the path start point to the path endpoint.
+     */
+    private void calculateSolutionPath() {
+        // Entrance path, from the target back to the start
+        List<Integer> cells = new ArrayList<>();
+        for (int id = this.entranceCount + 1; id != -1; id = this.cameFrom[id]) {
+            cells.add(cellOf(id));
+        }
+
+        // The first edge may leave the start through one of its neighbors. Use the cheapest edge
+        // to the first entrance, as that's the one its gScore came from.
+        int first = this.entranceCount + 1;
+        while (this.cameFrom[first] != this.entranceCount) {
+            first = this.cameFrom[first];
+        }
+        int via = -1;
+        int viaCost = UNREACHABLE;
+        for (int i = 0; i < this.startLinkIds.size(); i++) {
+            if (this.startLinkIds.get(i) == first && this.startLinkCosts.get(i) < viaCost) {
+                via = this.startLinkVias.get(i);
+                viaCost = this.startLinkCosts.get(i);
+            }
+        }
+
+        this.solutionPath = new LinkedList<>();
+        this.solutionPath.add(new Point(this.start % this.width, this.start / this.width));
+        if (via != -1) {
+            this.solutionPath.add(new Point(via % this.width, via / this.width));
+            cells.set(cells.size() - 1, via);
+        }
+        for (int i = cells.size() - 1; i > 0; i--) {
+            int from = cells.get(i);
+            int to = cells.get(i - 1);
+            int cluster = clusterOf(from);
+            if (cluster == clusterOf(to)) {
+                // Fill in the path inside the cluster
+                searchCluster(cluster, from, false, to);
+                int index = this.solutionPath.size();
+                for (int cell = to; cell != from; cell = localParent(cluster, cell)) {
+                    this.solutionPath.add(index, new Point(cell % this.width, cell / this.width));
+                }
+            } else {
+                // Entrances on either side of a border are next to each other
+                this.solutionPath.add(new Point(to % this.width, to / this.width));
+            }
+        }
+    }
+
+    /**
+     * Builds the abstraction of the given graph from scratch.
+     *
+     * @param graph The graph to build the abstraction of.
+     */
+    private void buildAbstraction(GridGraph graph) {
+        this.graph = graph;
+        this.width = graph.getWidth();
+        this.height = graph.getHeight();
+        this.clustersX = (this.width + this.clusterSize - 1) / this.clusterSize;
+        this.clustersY = (this.height + this.clusterSize - 1) / this.clusterSize;
+        int clusterCount = this.clustersX * this.clustersY;
+        this.rightBorders = new int[clusterCount][];
+        this.bottomBorders = new int[clusterCount][];
+        this.entrances = new int[clusterCount][];
+        this.partners = new int[clusterCount][][];
+        this.intraCosts = new int[clusterCount][];
+        this.offsets = new int[clusterCount];
+        this.capacities = new int[clusterCount];
+        this.dirtyClusters = new BitSet(clusterCount);
+
+        for (int c = 0; c < clusterCount; c++) {
+            this.rightBorders[c] = findBorderEntrances(c, true);
+            this.bottomBorders[c] = findBorderEntrances(c, false);
+        }
+        for (int c = 0; c < clusterCount; c++) {
+            buildCluster(c);
+        }
+        assignIds();
+    }
+
+    /**
+     * Updates the abstraction for the clusters containing cells that have changed. The borders of
+     * each changed cluster are recomputed, and the entrances of a neighboring cluster are only
+     * recomputed if the border they share has changed. Only the ids of the rebuilt clusters are
+     * reassigned, unless one of them has more entrances than it has ids reserved.
+     */
+    private void updateAbstraction() {
+        if (this.dirtyClusters.isEmpty()) {
+            return;
+        }
+
+        BitSet rebuild = new BitSet(this.entrances.length);
+        for (int c = this.dirtyClusters.nextSetBit(0); c >= 0; c = this.dirtyClusters.nextSetBit(c + 1)) {
+            rebuild.set(c);
+            int cx = c % this.clustersX;
+            int cy = c / this.clustersX;
+            if (cx + 1 < this.clustersX) {
+                updateBorder(this.rightBorders, c, c, c + 1, true, rebuild);
+            }
+            if (cy + 1 < this.clustersY) {
+                updateBorder(this.bottomBorders, c, c, c + this.clustersX, false, rebuild);
+            }
+            if (cx > 0) {
+                updateBorder(this.rightBorders, c - 1, c - 1, c, true, rebuild);
+            }
+            if (cy > 0) {
+                updateBorder(this.bottomBorders, c - this.clustersX, c - this.clustersX, c, false, rebuild);
+            }
+        }
+        this.dirtyClusters.clear();
+
+        boolean fits = true;
+        for (int c = rebuild.nextSetBit(0); c >= 0; c = rebuild.nextSetBit(c + 1)) {
+            buildCluster(c);
+            fits &= this.entrances[c].length <= this.capacities[c];
+        }
+        if (!fits) {
+            assignIds();
+            return;
+        }
+
+        // The partners of the neighbors' entrances may be in the rebuilt clusters, so they are
+        // relinked as well
+        BitSet relink = new BitSet(this.entrances.length);
+        for (int c = rebuild.nextSetBit(0); c >= 0; c = rebuild.nextSetBit(c + 1)) {
+            assignClusterIds(c);
+            relink.set(c);
+            int cx = c % this.clustersX;
+            int cy = c / this.clustersX;
+            if (cx > 0) {
+                relink.set(c - 1);
+            }
+            if (cx + 1 < this.clustersX) {
+                relink.set(c + 1);
+            }
+            if (cy > 0) {
+                relink.set(c - this.clustersX);
+            }
+            if (cy + 1 < this.clustersY) {
+                relink.set(c + this.clustersX);
+            }
+        }
+        for (int c = relink.nextSetBit(0); c >= 0; c = relink.nextSetBit(c + 1)) {
+            linkPartners(c);
+        }
+    }
+
+    /**
+     * Recomputes the entrances of a border, marking both clusters for rebuilding if they changed.
+     *
+     * @param borders   The border array the border is stored in.
+     * @param index     The index of the border in the array.
+     * @param cluster   The cluster to the left of or above the border.
+     * @param neighbor  The cluster to the right of or below the border.
+     * @param isRight   Whether the border is to the right of the cluster rather than below it.
+     * @param rebuild   The set of clusters to rebuild.
+     */
+    private void updateBorder(int[][] borders, int index, int cluster, int neighbor, boolean isRight, BitSet rebuild) {
+        int[] updated = findBorderEntrances(cluster, isRight);
+        if (!Arrays.equals(updated, borders[index])) {
+            borders[index] = updated;
+            rebuild.set(cluster);
+            rebuild.set(neighbor);
+        }
+    }
+
+    /**
+     * Finds the entrances on the border between a cluster and its neighbor to the right or below.
+     * Each run of open cell pairs along the border gets an entrance in its middle, or one at each
+     * end if the run is long.
+     *
+     * @param cluster The cluster to the left of or above the border.
+     * @param isRight Whether to use the border to the right of the cluster rather than below it.
+     * @return Pairs of (own cell, neighbor cell) indices, one pair per entrance.
+     */
+    private int[] findBorderEntrances(int cluster, boolean isRight) {
+        int cx = cluster % this.clustersX;
+        int cy = cluster / this.clustersX;
+        int x0 = cx * this.clusterSize;
+        int y0 = cy * this.clusterSize;
+        int length;
+        int ownStart;
+        int stride; // Distance between cells along the border
+        int across; // Distance from a cell to the cell on the other side of the border
+        if (isRight) {
+            if (cx + 1 >= this.clustersX) {
+                return new int[0];
+            }
+            length = Math.min(this.clusterSize, this.height - y0);
+            ownStart = this.graph.indexOf(x0 + this.clusterSize - 1, y0);
+            stride = this.width;
+            across = 1;
+        } else {
+            if (cy + 1 >= this.clustersY) {
+                return new int[0];
+            }
+            length = Math.min(this.clusterSize, this.width - x0);
+            ownStart = this.graph.indexOf(x0, y0 + this.clusterSize - 1);
+            stride = 1;
+            across = this.width;
+        }
+
+        int[] pairs = new int[2 * (length + 1)];
+        int count = 0;
+        int runStart = -1;
+        for (int i = 0; i <= length; i++) {
+            int own = ownStart + i * stride;
+            boolean open = i < length && this.graph.isOpen(own) && this.graph.isOpen(own + across);
+            if (open && runStart == -1) {
+                runStart = i;
+            } else if (!open && runStart != -1) {
+                int runLength = i - runStart;
+                if (runLength < MIN_SPLIT_RUN) {
+                    int middle = ownStart + (runStart + runLength / 2) * stride;
+                    pairs[count++] = middle;
+                    pairs[count++] = middle + across;
+                } else {
+                    int first = ownStart + runStart * stride;
+                    int last = ownStart + (i - 1) * stride;
+                    pairs[count++] = first;
+                    pairs[count++] = first + across;
+                    pairs[count++] = last;
+                    pairs[count++] = last + across;
+                }
+                runStart = -1;
+            }
+        }
+        return Arrays.copyOf(pairs, count);
+    }
+
+    /**
+     * Collects the entrances of a cluster from its four borders and precomputes the cheapest path
+     * costs between them.
+     *
+     * @param cluster The cluster to build.
+     */
+    private void buildCluster(int cluster) {
+        int cx = cluster % this.clustersX;
+        int cy = cluster / this.clustersX;
+
+        // Gather (own cell, partner cell) pairs from all four borders
+        int[][] borderPairs = {
+                this.rightBorders[cluster],
+                this.bottomBorders[cluster],
+                cx > 0 ? this.rightBorders[cluster - 1] : new int[0],
+                cy > 0 ? this.bottomBorders[cluster - this.clustersX] : new int[0]
+        };
+        int total = 0;
+        for (int[] pairs : borderPairs) {
+            total += pairs.length / 2;
+        }
+        int[] cells = new int[total];
+        int[][] cellPartners = new int[total][];
+        int k = 0;
+        for (int b = 0; b < borderPairs.length; b++) {
+            // The cluster's own cells come first in its right and bottom borders, and second in
+            // the borders it shares with the clusters to its left and above
+            int ownOffset = b < 2 ? 0 : 1;
+            int[] pairs = borderPairs[b];
+            for (int p = 0; p < pairs.length; p += 2) {
+                int own = pairs[p + ownOffset];
+                int partner = pairs[p + 1 - ownOffset];
+                int existing = -1;
+                for (int i = 0; i < k; i++) {
+                    if (cells[i] == own) {
+                        existing = i;
+                        break;
+                    }
+                }
+                if (existing == -1) {
+                    cells[k] = own;
+                    cellPartners[k] = new int[]{partner};
+                    k++;
+                } else {
+                    int[] grown = Arrays.copyOf(cellPartners[existing], cellPartners[existing].length + 1);
+                    grown[grown.length - 1] = partner;
+                    cellPartners[existing] = grown;
+                }
+            }
+        }
+        this.entrances[cluster] = Arrays.copyOf(cells, k);
+        this.partners[cluster] = Arrays.copyOf(cellPartners, k);
+
+        int[] costs = new int[k * k];
+        for (int i = 0; i < k; i++) {
+            searchCluster(cluster, cells[i], false, -1);
+            for (int j = 0; j < k; j++) {
+                costs[i * k + j] = localCost(cluster, cells[j]);
+            }
+        }
+        this.intraCosts[cluster] = costs;
+    }
+
+    /**
+     * Reserves a consecutive range of ids for the entrances of each cluster, with a few to spare,
+     * and links each entrance to the ids of the entrances across the border from it.
+     */
+    private void assignIds() {
+        int id = 0;
+        for (int c = 0; c < this.entrances.length; c++) {
+            this.offsets[c] = id;
+            this.capacities[c] = this.entrances[c].length + SPARE_IDS;
+            id += this.capacities[c];
+        }
+        this.entranceCount = id;
+        this.idCells = new int[id];
+        this.idClusters = new int[id];
+        this.idPartners = new int[id][];
+        for (int c = 0; c < this.entrances.length; c++) {
+            assignClusterIds(c);
+        }
+        for (int c = 0; c < this.entrances.length; c++) {
+            linkPartners(c);
+        }
+    }
+
+    /**
+     * Assigns the ids reserved for a cluster to its entrances, in order. Ids left over are marked
+     * unused.
+     *
+     * @param cluster The cluster to assign the ids of.
+     */
+    private void assignClusterIds(int cluster) {
+        int offset = this.offsets[cluster];
+        int[] cells = this.entrances[cluster];
+        for (int i = 0; i < this.capacities[cluster]; i++) {
+            this.idCells[offset + i] = i < cells.length ? cells[i] : -1;
+            this.idClusters[offset + i] = cluster;
+            this.idPartners[offset + i] = NO_PARTNERS;
+        }
+    }
+
+    /**
+     * Links each entrance of a cluster to the ids of the entrances across the border from it. The
+     * clusters on both sides must have their ids assigned.
+     *
+     * @param cluster The cluster to link the entrances of.
+     */
+    private void linkPartners(int cluster) {
+        int offset = this.offsets[cluster];
+        for (int i = 0; i < this.entrances[cluster].length; i++) {
+            int[] cells = this.partners[cluster][i];
+            int[] ids = new int[cells.length];
+            for (int p = 0; p < cells.length; p++) {
+                int partnerCluster = clusterOf(cells[p]);
+                ids[p] = this.offsets[partnerCluster] + localEntrance(partnerCluster, cells[p]);
+            }
+            this.idPartners[offset + i] = ids;
+        }
+    }
+
+    /**
+     * Runs Dijkstra's Algorithm from a cell, only visiting cells inside the given cluster. The
+     * results can be read with {@link #localCost(int, int)} and {@link #localParent(int, int)}.
+     *
+     * @param cluster   The cluster to search in.
+     * @param source    The cell index to search from.
+     * @param isReverse Whether to find the cost of reaching the source from every cell, rather than
+     *                  of reaching every cell from the source.
+     * @param stopAt    The cell index to stop at once its cost is known, or -1 to search the whole
+     *                  cluster.
+     */
+    private void searchCluster(int cluster, int source, boolean isReverse, int stopAt) {
+        int x0 = (cluster % this.clustersX) * this.clusterSize;
+        int y0 = (cluster / this.clustersX) * this.clusterSize;
+        int clusterWidth = Math.min(this.clusterSize, this.width - x0);
+        int clusterHeight = Math.min(this.clusterSize, this.height - y0);
+        int area = clusterWidth * clusterHeight;
+
+        this.localOpenSet.clear();
+        Arrays.fill(this.localDistance, 0, area, Double.MAX_VALUE);
+        Arrays.fill(this.localCameFrom, 0, area, -1);
+
+        int sourceLocal = (source / this.width - y0) * clusterWidth + (source % this.width - x0);
+        int stopLocal = stopAt == -1 ? -1 : (stopAt / this.width - y0) * clusterWidth + (stopAt % this.width - x0);
+        this.localDistance[sourceLocal] = 0;
+        this.localOpenSet.add(sourceLocal);
+
+        int[] dx = {0, 1, 0, -1};
+        int[] dy = {-1, 0, 1, 0};
+        while (!this.localOpenSet.isEmpty()) {
+            int current = this.localOpenSet.remove();
+            if (current == stopLocal) {
+                break;
+            }
+            int x = x0 + current % clusterWidth;
+            int y = y0 + current / clusterWidth;
+            for (int d = 0; d < 4; d++) {
+                int nx = x + dx[d];
+                int ny = y + dy[d];
+                if (nx < x0 || ny < y0 || nx >= x0 + clusterWidth || ny >= y0 + clusterHeight) {
+                    continue;
+                }
+                int cell = this.graph.indexOf(nx, ny);
+                if (!this.graph.isOpen(cell)) {
+                    continue;
+                }
+                // Searching in reverse, a step costs the cost of the cell being moved off of
+                int cost = isReverse ? this.graph.getCost(this.graph.indexOf(x, y)) : this.graph.getCost(cell);
+                int neighbor = (ny - y0) * clusterWidth + (nx - x0);
+                double distance = this.localDistance[current] + cost;
+                if (distance < this.localDistance[neighbor]) {
+                    this.localDistance[neighbor] = distance;
+                    this.localCameFrom[neighbor] = current;
+                    if (this.localOpenSet.contains(neighbor)) {
+                        this.localOpenSet.update(neighbor);
+                    } else {
+                        this.localOpenSet.add(neighbor);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the cost found by the last cluster search for a cell.
+     *
+     * @param cluster The cluster that was searched.
+     * @param cell    The cell index, which must be inside the cluster.
+     * @return The cost between the cell and the search's source, or UNREACHABLE if none was found.
+     */
+    private int localCost(int cluster, int cell) {
+        double distance = this.localDistance[toLocal(cluster, cell)];
+        return distance == Double.MAX_VALUE ? UNREACHABLE : (int) distance;
+    }
+
+    /**
+     * Returns the costs found by the last cluster search for each entrance of the cluster.
+     *
+     * @param cluster The cluster that was searched.
+     * @return The cost between each entrance and the search's source, or UNREACHABLE if none was
+     * found.
+     */
+    private int[] localCosts(int cluster) {
+        int[] costs = new int[this.entrances[cluster].length];
+        for (int i = 0; i < costs.length; i++) {
+            costs[i] = localCost(cluster, this.entrances[cluster][i]);
+        }
+        return costs;
+    }
+
+    /**
+     * Returns the previous cell on the path found by the last cluster search to a cell.
+     *
+     * @param cluster The cluster that was searched.
+     * @param cell    The cell index, which must be inside the cluster.
+     * @return The cell index of the previous cell on the path from the search's source.
+     */
+    private int localParent(int cluster, int cell) {
+        int clusterWidth = Math.min(this.clusterSize, this.width - (cluster % this.clustersX) * this.clusterSize);
+        int parent = this.localCameFrom[toLocal(cluster, cell)];
+        int x0 = (cluster % this.clustersX) * this.clusterSize;
+        int y0 = (cluster / this.clustersX) * this.clusterSize;
+        return this.graph.indexOf(x0 + parent % clusterWidth, y0 + parent / clusterWidth);
+    }
+
+    /**
+     * Converts a cell index to its index inside a cluster.
+     *
+     * @param cluster The cluster.
+     * @param cell    The cell index, which must be inside the cluster.
+     * @return The index of the cell inside the cluster.
+     */
+    private int toLocal(int cluster, int cell) {
+        int x0 = (cluster % this.clustersX) * this.clusterSize;
+        int y0 = (cluster / this.clustersX) * this.clusterSize;
+        int clusterWidth = Math.min(this.clusterSize, this.width - x0);
+        return (cell / this.width - y0) * clusterWidth + (cell % this.width - x0);
+    }
+
+    /**
+     * Returns the cluster containing a cell.
+     *
+     * @param cell The cell index.
+     * @return The index of the cluster containing the cell.
+     */
+    private int clusterOf(int cell) {
+        return (cell / this.width / this.clusterSize) * this.clustersX + (cell % this.width) / this.clusterSize;
+    }
+
+    /**
+     * Returns the position of an entrance cell among the entrances of its cluster.
+     *
+     * @param cluster The cluster containing the entrance.
+     * @param cell    The cell index of the entrance.
+     * @return The position of the entrance in the cluster's entrance list.
+     */
+    private int localEntrance(int cluster, int cell) {
+        int[] cells = this.entrances[cluster];
+        for (int i = 0; i < cells.length; i++) {
+            if (cells[i] == cell) {
+                return i;
+            }
+        }
+        throw new IllegalStateException("Cell is not an entrance of the cluster.");
+    }
+
+    /**
+     * Returns the cell of an entrance id, including the ids of the start and target.
+     *
+     * @param id The entrance id.
+     * @return The cell index of the entrance.
+     */
+    private int cellOf(int id) {
+        if (id == this.entranceCount) {
+            return this.start;
+        } else if (id == this.entranceCount + 1) {
+            return this.target;
+        }
+        return this.idCells[id];
+    }
+
+    @Override
+    public Set<Point> getFrontier() {
+        Set<Point> frontier = new HashSet<>();
+        for (int i = 0; i < this.openSet.size(); i++) {
+            int cell = cellOf(this.openSet.get(i));
+            frontier.add(new Point(cell % this.width, cell / this.width));
+        }
+        return frontier;
+    }
+
+    @Override
+    public boolean isFrontierEmpty() {
+        return this.openSet.isEmpty();
+    }
+
+    @Override
+    public List<Point> getSolution() {
+        return this.solutionPath;
+    }
+
+    @Override
+    public String toString() {
+        return "Hierarchical A* (HPA*)";
+    }
+}
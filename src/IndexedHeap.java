@@ -0,0 +1,228 @@
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * Binary min-heap of integer ids in the range [0, capacity), such as grid cell indices. Ids are
+ * ordered by their value in an external array of keys, and the heap keeps track of where each id
+ * is stored so that membership checks are O(1) and an id whose key has changed can be moved to its
+ * new position in O(log n).
+ * <p>
+ * The heap does not notice changes to the keys array on its own. After changing the key of an id
+ * that is in the heap, {@link #update(int)} must be called.
+ * <p>
+ * An optional second array of keys can be given to break ties between ids with equal keys, for
+ * searches whose priorities are pairs of values.
+ */
+public class IndexedHeap {
+    private final double[] keys;
+    private final double[] tieBreakKeys; // Compared when keys are equal, or null if ties aren't broken
+    private final int[] positions; // Position of each id in the heap, or -1 if not in it
+    private int[] heap;
+    private int size;
+
+    /**
+     * Creates a new empty heap.
+     *
+     * @param capacity The number of possible ids. Valid ids are in the range [0, capacity).
+     * @param keys     The keys the ids are ordered by, indexed by id. Must have a length of at
+     *                 least capacity.
+     */
+    public IndexedHeap(int capacity, double[] keys) {
+        this(capacity, keys, null);
+    }
+
+    /**
+     * Creates a new empty heap that orders ids with equal keys by a second key.
+     *
+     * @param capacity     The number of possible ids. Valid ids are in the range [0, capacity).
+     * @param keys         The keys the ids are ordered by, indexed by id. Must have a length of at
+     *                     least capacity.
+     * @param tieBreakKeys The keys that ids with equal keys are ordered by, indexed by id, or null
+     *                     to leave ties unbroken. Must have a length of at least capacity.
+     */
+    public IndexedHeap(int capacity, double[] keys, double[] tieBreakKeys) {
+        if (keys.length < capacity || (tieBreakKeys != null && tieBreakKeys.length < capacity)) {
+            throw new IllegalArgumentException("There must be a key for every id.");
+        }
+        this.keys = keys;
+        this.tieBreakKeys = tieBreakKeys;
+        this.positions = new int[capacity];
+        Arrays.fill(this.positions, -1);
+        this.heap = new int[Math.max(16, Math.min(capacity, 1024))];
+        this.size = 0;
+    }
+
+    /**
+     * Returns whether the heap is empty.
+     *
+     * @return True if the heap contains no ids, false otherwise.
+     */
+    public boolean isEmpty() {
+        return this.size == 0;
+    }
+
+    /**
+     * Returns the number of ids in the heap.
+     *
+     * @return The number of ids in the heap.
+     */
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     * Returns the id at the given position in the heap. Only the first position is ordered, but
+     * iterating over all positions visits every id in the heap.
+     *
+     * @param i The position in the heap, in the range [0, size()).
+     * @return The id at the given position.
+     */
+    public int get(int i) {
+        return this.heap[i];
+    }
+
+    /**
+     * Returns whether the given id is in the heap.
+     *
+     * @param id The id to check.
+     * @return True if the id is in the heap, false otherwise.
+     */
+    public boolean contains(int id) {
+        return this.positions[id] >= 0;
+    }
+
+    /**
+     * Adds an id to the heap. The id must not already be in the heap.
+     *
+     * @param id The id to add.
+     */
+    public void add(int id) {
+        if (this.size == this.heap.length) {
+            this.heap = Arrays.copyOf(this.heap, this.size * 2);
+        }
+        place(id, this.size);
+        this.size++;
+        siftUp(this.size - 1);
+    }
+
+    /**
+     * Returns the id with the lowest key without removing it.
+     *
+     * @return The id with the lowest key.
+     * @throws NoSuchElementException If the heap is empty.
+     */
+    public int peek() {
+        if (this.size == 0) {
+            throw new NoSuchElementException("Heap is empty.");
+        }
+        return this.heap[0];
+    }
+
+    /**
+     * Removes and returns the id with the lowest key.
+     *
+     * @return The id with the lowest key.
+     * @throws NoSuchElementException If the heap is empty.
+     */
+    public int remove() {
+        int top = peek();
+        removeAt(0);
+        return top;
+    }
+
+    /**
+     * Removes an id from the heap, wherever it is. The id must be in the heap.
+     *
+     * @param id The id to remove.
+     */
+    public void delete(int id) {
+        removeAt(this.positions[id]);
+    }
+
+    /**
+     * Restores the heap order after the key of an id in the heap has changed, in either
+     * direction.
+     *
+     * @param id The id whose key has changed.
+     */
+    public void update(int id) {
+        int i = this.positions[id];
+        siftUp(i);
+        siftDown(this.positions[id]);
+    }
+
+    /**
+     * Removes all ids from the heap. Takes time proportional to the number of ids in the heap,
+     * not the capacity.
+     */
+    public void clear() {
+        for (int i = 0; i < this.size; i++) {
+            this.positions[this.heap[i]] = -1;
+        }
+        this.size = 0;
+    }
+
+    private void removeAt(int i) {
+        int removed = this.heap[i];
+        this.size--;
+        if (i < this.size) {
+            int moved = this.heap[this.size];
+            place(moved, i);
+            siftUp(i);
+            siftDown(this.positions[moved]);
+        }
+        this.positions[removed] = -1;
+    }
+
+    /**
+     * Returns whether the first id is ordered before the second.
+     *
+     * @param a The first id.
+     * @param b The second id.
+     * @return True if a's key is lower than b's, or if they are equal and a's tie break key is
+     * lower, false otherwise.
+     */
+    private boolean isLess(int a, int b) {
+        if (this.keys[a] != this.keys[b] || this.tieBreakKeys == null) {
+            return this.keys[a] < this.keys[b];
+        }
+        return this.tieBreakKeys[a] < this.tieBreakKeys[b];
+    }
+
+    private void siftUp(int i) {
+        int id = this.heap[i];
+        while (i > 0) {
+            int parent = (i - 1) / 2;
+            if (!isLess(id, this.heap[parent])) {
+                break;
+            }
+            place(this.heap[parent], i);
+            i = parent;
+        }
+        place(id, i);
+    }
+
+    private void siftDown(int i) {
+        int id = this.heap[i];
+        while (true) {
+            int child = 2 * i + 1;
+            if (child >= this.size) {
+                break;
+            }
+            if (child + 1 < this.size && isLess(this.heap[child + 1], this.heap[child])) {
+                child++;
+            }
+            if (!isLess(this.heap[child], id)) {
+                break;
+            }
+            place(this.heap[child], i);
+            i = child;
+        }
+        place(id, i);
+    }
+
+    private void place(int id, int i) {
+        this.heap[i] = id;
+        this.positions[id] = i;
+    }
+}
@@ -0,0 +1,110 @@
+import java.util.NoSuchElementException;
+
+/**
+ * First-in-first-out queue of ints, backed by a circular array that grows as needed. Adding and
+ * removing values never allocates unless the queue has to grow.
+ */
+public class IntQueue {
+    private int[] values;
+    private int head; // Position of the first value
+    private int size;
+
+    /**
+     * Creates a new empty queue.
+     */
+    public IntQueue() {
+        this(16);
+    }
+
+    /**
+     * Creates a new empty queue.
+     *
+     * @param initialCapacity The number of values the queue can hold before it has to grow.
+     */
+    public IntQueue(int initialCapacity) {
+        this.values = new int[Math.max(1, initialCapacity)];
+        this.head = 0;
+        this.size = 0;
+    }
+
+    /**
+     * Returns whether the queue is empty.
+     *
+     * @return True if the queue contains no values, false otherwise.
+     */
+    public boolean isEmpty() {
+        return this.size == 0;
+    }
+
+    /**
+     * Returns the number of values in the queue.
+     *
+     * @return The number of values in the queue.
+     */
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     * Returns the value at the given position in the queue without removing it.
+     *
+     * @param i The position in the queue, where 0 is the next value to be removed.
+     * @return The value at the given position.
+     * @throws IndexOutOfBoundsException If the position is not in the range [0, size()).
+     */
+    public int get(int i) {
+        if (i < 0 || i >= this.size) {
+            throw new IndexOutOfBoundsException("Position must be in the queue.");
+        }
+        return this.values[(this.head + i) % this.values.length];
+    }
+
+    /**
+     * Adds a value to the end of the queue.
+     *
+     * @param value The value to add.
+     */
+    public void add(int value) {
+        if (this.size == this.values.length) {
+            grow();
+        }
+        this.values[(this.head + this.size) % this.values.length] = value;
+        this.size++;
+    }
+
+    /**
+     * Removes and returns the value at the front of the queue.
+     *
+     * @return The value at the front of the queue.
+     * @throws NoSuchElementException If the queue is empty.
+     */
+    public int remove() {
+        if (this.size == 0) {
+            throw new NoSuchElementException("Queue is empty.");
+        }
+        int value = this.values[this.head];
+        this.head = (this.head + 1) % this.values.length;
+        this.size--;
+        return value;
+    }
+
+    /**
+     * Removes all values from the queue.
+     */
+    public void clear() {
+        this.head = 0;
+        this.size = 0;
+    }
+
+    /**
+     * Doubles the capacity of the queue, unwrapping its values to the start of the new array.
+     */
+    private void grow() {
+        int[] grown = new int[this.values.length * 2];
+        int firstPart = Math.min(this.size, this.values.length - this.head);
+        System.arraycopy(this.values, this.head, grown, 0, firstPart);
+        System.arraycopy(this.values, 0, grown, firstPart, this.size - firstPart);
+        this.values = grown;
+        this.head = 0;
+    }
+}
@@ -0,0 +1,308 @@
+import java.awt.Point;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashSet;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Jump Point Search Algorithm
+ * <p>
+ * A version of A* for 4-connected grids where every cell has the same cost. Rather than adding
+ * every neighbor of a node to the open set, it jumps in a straight line until it reaches a cell
+ * where the path could need to turn (a "jump point") and only adds that cell. Many equally short
+ * paths in open areas are therefore never considered.
+ * <p>
+ * Paths move vertically first and then horizontally, only turning from horizontal to vertical
+ * around an obstacle:
+ * <ul>
+ * <li>A horizontal jump stops when a cell above or below it becomes open right after a blocked
+ * cell (a "forced" neighbor).</li>
+ * <li>A vertical jump stops at any cell that a horizontal jump from it would stop at.</li>
+ * </ul>
+ * <p>
+ * If the graph has any cells with a travel cost above 1, jumping would skip over cells with
+ * different costs, so the search falls back to regular A*.
+ */
+public class JumpPointSearch implements Pathfinder {
+    private GridGraph graph;
+    private int width;
+    private int target; // Cell index of the target
+    private double[] gScore; // The real cost to reach each jump point
+    private double[] fScore; // The total cost to reach each jump point (including heuristic cost)
+    private int[] cameFrom; // Previous jump point on the path back to the start, or -1 if none
+    private BitSet closedSet;
+    private IndexedHeap openSet; // Ordered by fScore
+    private List<Point> solutionPath;
+    private AStar fallback; // Used instead of jumping if the graph has weighted cells
+
+    @Override
+    public void initialize(GridGraph graph, Point start, Point target) {
+        this.graph = graph;
+        if (graph.getMaxCost() > 1) {
+            if (this.fallback == null) {
+                this.fallback = new AStar();
+            }
+            this.fallback.initialize(graph, start, target);
+            return;
+        }
+        this.fallback = null;
+
+        int size = graph.size();
+        if (this.gScore == null || this.gScore.length != size) {
+            this.gScore = new double[size];
+            this.fScore = new double[size];
+            this.cameFrom = new int[size];
+            this.closedSet = new BitSet(size);
+            this.openSet = new IndexedHeap(size, this.fScore);
+        } else {
+            this.closedSet.clear();
+            this.openSet.clear();
+        }
+        Arrays.fill(this.gScore, Double.MAX_VALUE);
+        Arrays.fill(this.fScore, Double.MAX_VALUE);
+        Arrays.fill(this.cameFrom, -1);
+
+        this.width = graph.getWidth();
+        this.target = graph.indexOf(target.x, target.y);
+        this.solutionPath = null;
+
+        int startIndex = graph.indexOf(start.x, start.y);
+        this.gScore[startIndex] = 0;
+        this.fScore[startIndex] = calcHeuristic(startIndex);
+        this.openSet.add(startIndex);
+    }
+
+    @Override
+    public List<Point> step() {
+        if (this.fallback != null) {
+            return this.fallback.step();
+        }
+
+        CellBuffer jumpPoints = new CellBuffer(this.width);
+        step(jumpPoints);
+        return jumpPoints.toPoints();
+    }
+
+    @Override
+    public void step(CellBuffer jumpPoints) {
+        if (this.fallback != null) {
+            this.fallback.step(jumpPoints);
+            return;
+        }
+
+        if (!this.openSet.isEmpty()) {
+            // Get jump point with lowest fScore
+            int current = this.openSet.remove();
+
+            if (current == this.target) {
+                calculateSolutionPath(current);
+            }
+
+            this.closedSet.set(current);
+
+            int x = current % this.width;
+            int y = current / this.width;
+            int parent = this.cameFrom[current];
+            if (parent == -1) {
+                // The start point can go in any direction
+                addSuccessor(current, jump(x, y, 0, -1), jumpPoints); // Up
+                addSuccessor(current, jump(x, y, 1, 0), jumpPoints); // Right
+                addSuccessor(current, jump(x, y, 0, 1), jumpPoints); // Down
+                addSuccessor(current, jump(x, y, -1, 0), jumpPoints); // Left
+            } else {
+                int dx = Integer.signum(x - parent % this.width);
+                int dy = Integer.signum(y - parent / this.width);
+                if (dx != 0) {
+                    // Moving horizontally: keep going, and only turn towards forced neighbors
+                    addSuccessor(current, jump(x, y, dx, 0), jumpPoints);
+                    if (isForced(x, y, dx, -1)) {
+                        addSuccessor(current, jump(x, y, 0, -1), jumpPoints);
+                    }
+                    if (isForced(x, y, dx, 1)) {
+                        addSuccessor(current, jump(x, y, 0, 1), jumpPoints);
+                    }
+                } else {
+                    // Moving vertically: keep going, or turn either way
+                    addSuccessor(current, jump(x, y, 0, dy), jumpPoints);
+                    addSuccessor(current, jump(x, y, 1, 0), jumpPoints);
+                    addSuccessor(current, jump(x, y, -1, 0), jumpPoints);
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns whether the vertical neighbor of a cell reached by moving horizontally is forced,
+     * meaning it could not have been reached as cheaply without passing through the cell.
+     *
+     * @param x  The x-coordinate of the cell.
+     * @param y  The y-coordinate of the cell.
+     * @param dx The horizontal direction the cell was reached in.
+     * @param dy The vertical direction of the neighbor to check.
+     * @return True if the neighbor is open and the cell behind it is blocked, false otherwise.
+     */
+    private boolean isForced(int x, int y, int dx, int dy) {
+        return this.graph.isOpen(x, y + dy) && !this.graph.isOpen(x - dx, y + dy);
+    }
+
+    /**
+     * Moves from a cell in a straight line until reaching a jump point.
+     *
+     * @param x  The x-coordinate of the cell to jump from.
+     * @param y  The y-coordinate of the cell to jump from.
+     * @param dx The horizontal direction to jump in.
+     * @param dy The vertical direction to jump in.
+     * @return The cell index of the jump point reached, or -1 if an obstacle is reached first.
+     */
+    private int jump(int x, int y, int dx, int dy) {
+        while (true) {
+            x += dx;
+            y += dy;
+            if (!this.graph.isOpen(x, y)) {
+                return -1;
+            }
+
+            int cell = this.graph.indexOf(x, y);
+            if (cell == this.target) {
+                return cell;
+            }
+            if (dx != 0) {
+                if (isForced(x, y, dx, -1) || isForced(x, y, dx, 1)) {
+                    return cell;
+                }
+            } else if (jump(x, y, 1, 0) != -1 || jump(x, y, -1, 0) != -1) {
+                return cell;
+            }
+        }
+    }
+
+    /**
+     * Evaluates the path to a jump point reached from the current node, updating the jump point if
+     * it is better than any path found to it so far.
+     *
+     * @param current    The cell index of the node currently being evaluated.
+     * @param jumpPoint  The cell index of the jump point, or -1 if there is none.
+     * @param jumpPoints The buffer to add the jump points found during this iteration to.
+     */
+    private void addSuccessor(int current, int jumpPoint, CellBuffer jumpPoints) {
+        if (jumpPoint == -1 || this.closedSet.get(jumpPoint)) {
+            return;
+        }
+
+        jumpPoints.accept(jumpPoint);
+
+        // Every cell costs the same, so the cost of a jump is its length
+        double tentativeGScore = this.gScore[current] + distance(current, jumpPoint);
+        if (tentativeGScore < this.gScore[jumpPoint]) {
+            this.cameFrom[jumpPoint] = current;
+            this.gScore[jumpPoint] = tentativeGScore;
+            this.fScore[jumpPoint] = tentativeGScore + calcHeuristic(jumpPoint);
+
+            if (this.openSet.contains(jumpPoint)) {
+                this.openSet.update(jumpPoint);
+            } else {
+                this.openSet.add(jumpPoint);
+            }
+        }
+    }
+
+    /**
+     * Returns the Manhattan distance between a cell and the target.
+     *
+     * @param cell The cell index to calculate the heuristic of.
+     * @return The Manhattan distance between the cell and the target.
+     */
+    private double calcHeuristic(int cell) {
+        return distance(cell, this.target);
+    }
+
+    /**
+     * Returns the Manhattan distance between two cells.
+     *
+     * @param a The cell index of the first cell.
+     * @param b The cell index of the second cell.
+     * @return The Manhattan distance between the two cells.
+     */
+    private int distance(int a, int b) {
+        return Math.abs(a % this.width - b % this.width) + Math.abs(a / this.width - b / this.width);
+    }
+
+    /**
+     * Fills solutionPath with the nodes that make the path from the start point to the target
+     * point, including every cell between consecutive jump points. Nodes are ordered starting from
+     * the path start point to the path endpoint.
+     *
+     * @param target The cell index of the end node of the path.
+     */
+    private void calculateSolutionPath(int target) {
+        this.solutionPath = new LinkedList<>();
+
+        int x = target % this.width;
+        int y = target / this.width;
+        this.solutionPath.add(new Point(x, y));
+        for (int previous = this.cameFrom[target]; previous != -1; previous = this.cameFrom[previous]) {
+            int px = previous % this.width;
+            int py = previous / this.width;
+            int dx = Integer.signum(px - x);
+            int dy = Integer.signum(py - y);
+            while (x != px || y != py) {
+                x += dx;
+                y += dy;
+                this.solutionPath.add(0, new Point(x, y));
+            }
+        }
+    }
+
+    @Override
+    public Set<Point> getFrontier() {
+        if (this.fallback != null) {
+            return this.fallback.getFrontier();
+        }
+
+        Set<Point> frontier = new HashSet<>();
+        for (int i = 0; i < this.openSet.size(); i++) {
+            int cell = this.openSet.get(i);
+            frontier.add(new Point(cell % this.width, cell / this.width));
+        }
+        return frontier;
+    }
+
+    @Override
+    public boolean isFrontierEmpty() {
+        if (this.fallback != null) {
+            return this.fallback.isFrontierEmpty();
+        }
+        return this.openSet.isEmpty();
+    }
+
+    @Override
+    public List<Point> solve(PathfinderData data, CellBuffer explored, int maxSteps) {
+        if (this.fallback != null) {
+            return this.fallback.solve(data, explored, maxSteps);
+        }
+        return Pathfinder.super.solve(data, explored, maxSteps);
+    }
+
+    @Override
+    public boolean getFrontierChanges(CellBuffer added, CellBuffer removed) {
+        if (this.fallback != null) {
+            return this.fallback.getFrontierChanges(added, removed);
+        }
+        return false;
+    }
+
+    @Override
+    public List<Point> getSolution() {
+        if (this.fallback != null) {
+            return this.fallback.getSolution();
+        }
+        return this.solutionPath;
+    }
+
+    @Override
+    public String toString() {
+        return "Jump Point Search";
+    }
+}
@@ -0,0 +1,221 @@
+import java.awt.Point;
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+/**
+ * A* Search using Landmarks and the Triangle inequality (ALT)
+ * <p>
+ * Before searching a terrain for the first time, a few cells are picked as landmarks, and the
+ * exact costs of the cheapest paths from and to every landmark are found for every cell. By the
+ * triangle inequality, the difference between two cells' costs to or from a landmark can never be
+ * more than the cost between the two cells, which makes a far better informed heuristic than the
+ * Manhattan distance when there are walls or weights in the way.
+ * <p>
+ * Landmarks are spread around the edge of each connected area of the terrain. The tables are kept
+ * as long as the same graph is searched, so repeated searches of the same terrain only pay for
+ * them once. Costs are stored as chars, and fewer landmarks are used on graphs too large for the
+ * tables to fit in {@link #MAX_TABLE_SIZE}.
+ */
+public class LandmarkAStar extends AStar {
+    /**
+     * Default number of landmarks in each connected area of the terrain.
+     */
+    public static final int DEFAULT_LANDMARK_COUNT = 8;
+    /**
+     * Most memory the landmark tables of a graph may use, in bytes.
+     */
+    public static final long MAX_TABLE_SIZE = 256L << 20;
+    /**
+     * Stored in place of costs that are unreachable or too large to store. Costs stored as this
+     * aren't used by the heuristic.
+     */
+    private static final char UNKNOWN = Character.MAX_VALUE;
+
+    private final int landmarkCount;
+    private GridGraph landmarkGraph; // The graph the tables were computed for
+    private int width;
+    private int tableLandmarkCount; // The number of landmarks in the tables, at most landmarkCount
+    private char[] distances; // For each cell, its cost from then to each landmark, in pairs
+    private long precomputationTime;
+
+    /**
+     * Creates a new pathfinder using the default number of landmarks.
+     */
+    public LandmarkAStar() {
+        this(DEFAULT_LANDMARK_COUNT);
+    }
+
+    /**
+     * Creates a new pathfinder.
+     *
+     * @param landmarkCount The number of landmarks to place in each connected area of the terrain.
+     * @throws IllegalArgumentException If the number of landmarks is not positive.
+     */
+    public LandmarkAStar(int landmarkCount) {
+        if (landmarkCount <= 0) {
+            throw new IllegalArgumentException("There must be at least one landmark.");
+        }
+        this.landmarkCount = landmarkCount;
+    }
+
+    @Override
+    public void initialize(GridGraph graph, Point start, Point target) {
+        if (graph != this.landmarkGraph) {
+            computeTables(graph);
+        }
+        super.initialize(graph, start, target);
+    }
+
+    /**
+     * Picks the landmarks of a graph and computes the cost of every cell from and to each of them,
+     * running the searches in parallel. If the tables of every landmark wouldn't fit in
+     * {@link #MAX_TABLE_SIZE}, only as many landmarks as fit are used, which may be none.
+     *
+     * @param graph The graph to compute the tables of.
+     */
+    private void computeTables(GridGraph graph) {
+        long startTime = System.nanoTime();
+        int size = graph.size();
+        long bytesPerLandmark = Math.max(1L, (long) size * 2 * Character.BYTES);
+        int k = (int) Math.min(this.landmarkCount, MAX_TABLE_SIZE / bytesPerLandmark);
+        int stride = 2 * k;
+
+        this.distances = new char[size * stride];
+        if (k > 0) {
+            int[][] landmarks = pickLandmarks(graph, k);
+
+            // Landmarks in different areas can't reach each other, so the i-th landmarks of every
+            // area can share one search. All of a cell's costs are stored next to each other, since
+            // the heuristic reads them together.
+            IntStream.range(0, stride).parallel().forEach(i -> {
+                int[] table = i < k ? GridDistances.computeFrom(graph, landmarks[i])
+                        : GridDistances.computeTo(graph, landmarks[i - k]);
+                int offset = i < k ? 2 * i : 2 * (i - k) + 1;
+                for (int cell = 0; cell < size; cell++) {
+                    this.distances[cell * stride + offset] = (char) Math.min(table[cell], UNKNOWN);
+                }
+            });
+        }
+
+        this.landmarkGraph = graph;
+        this.width = graph.getWidth();
+        this.tableLandmarkCount = k;
+        this.precomputationTime = System.nanoTime() - startTime;
+    }
+
+    /**
+     * Picks the landmarks of each connected area of a graph. The i-th landmark of an area is the
+     * open cell closest to the point on the edge of the area's bounding box at an angle of i / k
+     * turns from its center.
+     *
+     * @param graph The graph to pick landmarks in.
+     * @param k     The number of landmarks to pick in each area.
+     * @return The cell index of the i-th landmark of every area, for each i.
+     */
+    private int[][] pickLandmarks(GridGraph graph, int k) {
+        int width = graph.getWidth();
+        int[] labels = new int[graph.size()];
+        int areas = GridDistances.labelComponents(graph, labels);
+
+        int[] minX = new int[areas];
+        int[] minY = new int[areas];
+        int[] maxX = new int[areas];
+        int[] maxY = new int[areas];
+        Arrays.fill(minX, Integer.MAX_VALUE);
+        Arrays.fill(minY, Integer.MAX_VALUE);
+        for (int cell = 0; cell < labels.length; cell++) {
+            int area = labels[cell];
+            if (area != -1) {
+                minX[area] = Math.min(minX[area], cell % width);
+                minY[area] = Math.min(minY[area], cell / width);
+                maxX[area] = Math.max(maxX[area], cell % width);
+                maxY[area] = Math.max(maxY[area], cell / width);
+            }
+        }
+
+        double[] pointX = new double[areas * k];
+        double[] pointY = new double[areas * k];
+        for (int area = 0; area < areas; area++) {
+            double centerX = (minX[area] + maxX[area]) / 2.0;
+            double centerY = (minY[area] + maxY[area]) / 2.0;
+            double halfWidth = (maxX[area] - minX[area]) / 2.0;
+            double halfHeight = (maxY[area] - minY[area]) / 2.0;
+            for (int i = 0; i < k; i++) {
+                double angle = 2 * Math.PI * i / k;
+                double cos = Math.cos(angle);
+                double sin = Math.sin(angle);
+                // Scale the direction until it hits a side of the bounding box
+                double scale = Math.min(cos == 0 ? Double.MAX_VALUE : halfWidth / Math.abs(cos),
+                        sin == 0 ? Double.MAX_VALUE : halfHeight / Math.abs(sin));
+                pointX[area * k + i] = centerX + scale * cos;
+                pointY[area * k + i] = centerY + scale * sin;
+            }
+        }
+
+        int[][] landmarks = new int[k][areas];
+        double[] closest = new double[areas * k];
+        Arrays.fill(closest, Double.MAX_VALUE);
+        for (int cell = 0; cell < labels.length; cell++) {
+            int area = labels[cell];
+            if (area == -1) {
+                continue;
+            }
+            int x = cell % width;
+            int y = cell / width;
+            for (int i = 0; i < k; i++) {
+                double distance = Math.abs(x - pointX[area * k + i]) + Math.abs(y - pointY[area * k + i]);
+                if (distance < closest[area * k + i]) {
+                    closest[area * k + i] = distance;
+                    landmarks[i][area] = cell;
+                }
+            }
+        }
+        return landmarks;
+    }
+
+    @Override
+    protected double calcHeuristic(int x1, int y1, int x2, int y2) {
+        double best = super.calcHeuristic(x1, y1, x2, y2);
+        int stride = 2 * this.tableLandmarkCount;
+        int from = (y1 * this.width + x1) * stride;
+        int to = (y2 * this.width + x2) * stride;
+        for (int i = 0; i < stride; i += 2) {
+            // cost(landmark, to) <= cost(landmark, from) + cost(from, to)
+            char fromLandmarkA = this.distances[from + i];
+            char fromLandmarkB = this.distances[to + i];
+            if (fromLandmarkA != UNKNOWN && fromLandmarkB != UNKNOWN) {
+                best = Math.max(best, fromLandmarkB - fromLandmarkA);
+            }
+            // cost(from, landmark) <= cost(from, to) + cost(to, landmark)
+            char toLandmarkA = this.distances[from + i + 1];
+            char toLandmarkB = this.distances[to + i + 1];
+            if (toLandmarkA != UNKNOWN && toLandmarkB != UNKNOWN) {
+                best = Math.max(best, toLandmarkA - toLandmarkB);
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Returns how long computing the landmark tables of the current terrain took.
+     *
+     * @return The time spent picking landmarks and computing their tables, in nanoseconds.
+     */
+    public long getPrecomputationTime() {
+        return this.precomputationTime;
+    }
+
+    /**
+     * Returns the memory used by the landmark tables of the current terrain.
+     *
+     * @return The size of the landmark tables in bytes.
+     */
+    public long getTableSize() {
+        return this.distances == null ? 0 : (long) this.distances.length * Character.BYTES;
+    }
+
+    @Override
+    public String toString() {
+        return "A* with Landmarks (ALT)";
+    }
+}
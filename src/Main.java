@@ -1,10 +1,13 @@
 import javax.swing.JButton;
+import javax.swing.JCheckBox;
 import javax.swing.JComboBox;
 import javax.swing.JFrame;
 import javax.swing.JLabel;
 import javax.swing.JPanel;
 import javax.swing.JSlider;
 import javax.swing.JTextField;
+import javax.swing.SwingUtilities;
+import javax.swing.Timer;
 import javax.swing.event.ChangeEvent;
 import javax.swing.event.ChangeListener;
 import javax.swing.event.DocumentEvent;
@@ -17,14 +20,18 @@ import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
 import java.awt.event.FocusEvent;
 import java.awt.event.FocusListener;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
-import java.util.Random;
 import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * A visual side-by-side comparison of common pathfinding algorithms.
@@ -32,27 +39,39 @@ import java.util.Set;
  * The currently supported algorithms are:
  * <ul>
  * <li>Dijkstra's Algorithm</li>
+ * <li>Dial's Algorithm</li>
  * <li>A* Search (3 variants)</li>
+ * <li>A* Search with Landmarks (ALT)</li>
+ * <li>A* Search with a Flow Field heuristic</li>
  * <li>Breadth First Search</li>
  * <li>Greedy Best First Search</li>
+ * <li>Jump Point Search</li>
+ * <li>Bidirectional Dijkstra's Algorithm and A* Search</li>
+ * <li>Hierarchical A* Search (HPA*)</li>
+ * <li>D* Lite</li>
  * </ul>
  *
  * @author Jake Chiang
- * @version v1.5.7
+ * @version v1.5.27
  */
 public class Main {
     /**
-     * Width of each sub grid in number of cells.
+     * Default width of each sub grid in number of cells.
      */
-    public static final int GRID_WIDTH = 30;
+    public static final int DEFAULT_GRID_WIDTH = 30;
     /**
-     * Height of each sub grid in number of cells.
+     * Default height of each sub grid in number of cells.
      */
-    public static final int GRID_HEIGHT = 21;
+    public static final int DEFAULT_GRID_HEIGHT = 21;
     /**
-     * Size of each cell in pixels.
+     * Default size of each cell in pixels.
      */
-    public static final int CELL_SIZE = 12;
+    public static final int DEFAULT_CELL_SIZE = 12;
+    /**
+     * Cells smaller than this many pixels are drawn without gridlines, so that the gridlines don't
+     * hide them.
+     */
+    public static final int MIN_GRIDLINE_CELL_SIZE = 4;
     /**
      * Number of cells between each subgrid horizontally.
      */
@@ -62,13 +81,13 @@ public class Main {
      */
     public static final int GRID_MARGIN_Y = 3;
     /**
-     * Number of subgrids per row.
+     * Default number of subgrids per row.
      */
-    public static final int GRIDS_HORZ = 2;
+    public static final int DEFAULT_GRIDS_HORZ = 2;
     /**
-     * Number of subgrids per column.
+     * Default number of subgrids per column.
      */
-    public static final int GRIDS_VERT = 2;
+    public static final int DEFAULT_GRIDS_VERT = 2;
     /**
      * Number of cells padding the frame border. Must be &gt;= 1.
      */
@@ -106,59 +125,92 @@ public class Main {
     public static final int FRONTIER = 8; // Cells still being explored
     public static final int WEIGHTED = 100; // First value of cells with a travel cost
 
+    private static int gridWidth = DEFAULT_GRID_WIDTH;
+    private static int gridHeight = DEFAULT_GRID_HEIGHT;
+    private static int cellSize = DEFAULT_CELL_SIZE;
+    private static int gridsHorz = DEFAULT_GRIDS_HORZ;
+    private static int gridsVert = DEFAULT_GRIDS_VERT;
+
+    private static final long MAX_TICK_TIME = 16_000_000; // Longest time to step for before repainting, in ns
+    private static final int MAX_STEPS_PER_TASK = 64; // Most steps each pathfinder takes at once while running
+    private static final int FRAME_DELAY = 16; // Time between frames while solving in the background, in ms
+    private static final int SOLVE_CHUNK_STEPS = 10_000; // Steps solved instantly between checks to stop
+
     private static SimpleGrid grid;
-    private static boolean isMouseDown = false;
-    private static int initialClick = -1;
+    private static int initialClick = -1; // Value of the first cell the mouse reached while down, or -1
     private static int selectedWeight = MAX_COST; // If equal to MAX_COST, creates walls instead of weighted cells
     private static int selectedDelay = DEFAULT_STEP_DELAY;
     private static boolean showingWeights = false;
     private static boolean started = false;
     private static boolean running = false;
+    private static Timer stepTimer = new Timer(DEFAULT_STEP_DELAY, e -> stepWhileRunning());
+    private static long nextStepTime; // When the next step is due while running, from System.nanoTime()
+    private static boolean backgroundSolve = false;
+    private static BackgroundSolver solver; // Solves the pathfinders while running in the background
+    private static Map<Pathfinder, BackgroundSolver.Progress> drawnProgress = new HashMap<>(); // Last drawn by solver
+    private static Map<Pathfinder, StepBuffers> stepBuffers = new HashMap<>(); // Reused for every step
+    private static Thread instantSolver; // Solves the pathfinders instantly, off the event thread
+    private static volatile boolean instantSolveStopped; // Whether the instant solver should stop early
+    private static volatile Map<Pathfinder, StepResult> instantResults; // Set when the instant solver ends
+    private static JButton instantButton;
     private static Integer seed = null;
     private static boolean seedFieldClicked = false;
-    private static Point[] subgridPositions = new Point[GRIDS_HORZ * GRIDS_VERT];
-    private static JComboBox[] algorithmSelectors = new JComboBox[GRIDS_HORZ * GRIDS_VERT];
+    private static Point[] subgridPositions;
+    private static JComboBox[] algorithmSelectors;
     private static Point startLocalPos;
     private static Point targetLocalPos;
+    private static int terrainVersion = 0; // Incremented whenever a subgrid cell changes
+    private static GridGraph graph; // Snapshot of the terrain, taken when first needed
+    private static List<TerrainListener> terrainListeners = new ArrayList<>();
+    private static List<Point> frontierCells = new ArrayList<>(); // Frontier cells cleared when next stepped
+    private static boolean frontierStale = false; // Whether frontier changes must be redrawn in full
 
     private static List<Pathfinder> loadedPathfinders = new ArrayList<>();
     private static Map<Point, Pathfinder> pathfinders = new HashMap<>();
     private static Map<Point, PathfinderData> pathfinderData = new HashMap<>();
 
+    /**
+     * Opens the comparison window.
+     * <p>
+     * Usage: {@code java Main [--size WxH] [--grids CxR] [--cell-size n]}
+     * <ul>
+     * <li>{@code --size WxH} Width and height of each subgrid in cells. Defaults to 30x21.</li>
+     * <li>{@code --grids CxR} Number of columns and rows of subgrids. Defaults to 2x2.</li>
+     * <li>{@code --cell-size n} Size of each cell in pixels. Defaults to 12.</li>
+     * </ul>
+     *
+     * @param args The command line arguments.
+     */
     public static void main(String[] args) {
-        int totalWidth = (GRID_WIDTH * GRIDS_HORZ) + (GRIDS_HORZ - 1) * GRID_MARGIN_X + (BORDER_SIZE * 2);
-        int totalHeight = (GRID_HEIGHT * GRIDS_VERT) + (GRIDS_VERT - 1) * GRID_MARGIN_Y + (BORDER_SIZE * 2);
-        grid = new SimpleGrid(totalWidth, totalHeight, CELL_SIZE, 1, "Pathfinding Algorithm Comparison");
-        grid.setGridlineColor(Color.GRAY);
-        grid.addLayer(); // Layer 1 shows the explored cells and solution path
-        grid.addLayer(); // Layer 2 shows the frontier cells
-
-        grid.setColor(BG, Color.GRAY);
-        grid.setColor(EMPTY, Color.WHITE);
-        grid.setColor(WALL, new Color(20, 20, 20));
-        grid.setColor(START, Color.GREEN);
-        grid.setColor(TARGET, Color.RED);
-        grid.setColor(EXPLORED, Color.LIGHT_GRAY);
-        grid.setColor(SOLUTION, Color.CYAN);
-        grid.setColor(FRONTIER, new Color(171, 213, 255));
-        for (int i = 0; i < 128; i++) {
-            grid.setText(ASCII_OFFSET + i, (char) i);
-            grid.setTextColor(ASCII_OFFSET + i, Color.WHITE);
-            grid.setColor(ASCII_OFFSET + i, Color.GRAY);
-        }
-        for (int i = 1; i < MAX_COST; i++) {
-            int value = WEIGHTED + i;
-            int increment = (255 - WEIGHTED_MIN_COLOR) / MAX_COST;
-            grid.setColor(value, new Color(255, 255 - (i * increment) / 2, 255 - i * increment));
-            grid.setTextColor(value, Color.BLACK);
-        }
+        parseArguments(args);
+
+        // Swing isn't thread safe, so the grid is only used from the event dispatch thread, which
+        // is also where the mouse input and the stepping timer are handled
+        SwingUtilities.invokeLater(Main::open);
+    }
+
+    /**
+     * Creates the grid, controls and pathfinders, and opens the comparison window.
+     *
+     * @since v1.5.23
+     */
+    private static void open() {
+        subgridPositions = new Point[gridsHorz * gridsVert];
+        algorithmSelectors = new JComboBox[gridsHorz * gridsVert];
+
+        int totalWidth = (gridWidth * gridsHorz) + (gridsHorz - 1) * GRID_MARGIN_X + (BORDER_SIZE * 2);
+        int totalHeight = (gridHeight * gridsVert) + (gridsVert - 1) * GRID_MARGIN_Y + (BORDER_SIZE * 2);
+        int gridlineWeight = cellSize < MIN_GRIDLINE_CELL_SIZE ? 0 : 1;
+        grid = new SimpleGrid(totalWidth, totalHeight, cellSize, gridlineWeight, "Pathfinding Algorithm Comparison");
+        setupGrid(grid);
+        grid.setRasterMode(true);
 
         // Calculate all subgrid positions
-        for (int y = 0; y < GRIDS_VERT; y++) {
-            for (int x = 0; x < GRIDS_HORZ; x++) {
-                int xPos = BORDER_SIZE + x * (GRID_WIDTH + GRID_MARGIN_X);
-                int yPos = BORDER_SIZE + y * (GRID_HEIGHT + GRID_MARGIN_Y);
-                subgridPositions[y * GRIDS_HORZ + x] = new Point(xPos, yPos);
+        for (int y = 0; y < gridsVert; y++) {
+            for (int x = 0; x < gridsHorz; x++) {
+                int xPos = BORDER_SIZE + x * (gridWidth + GRID_MARGIN_X);
+                int yPos = BORDER_SIZE + y * (gridHeight + GRID_MARGIN_Y);
+                subgridPositions[y * gridsHorz + x] = new Point(xPos, yPos);
             }
         }
 
@@ -167,14 +219,7 @@ public class Main {
         initializeSubgrids();
 
         // All pathfinders that can be selected.
-        loadedPathfinders.add(new Dijkstra());
-        loadedPathfinders.add(new BreadthFirstSearch());
-        loadedPathfinders.add(new AStar());
-        loadedPathfinders.add(new GreedyBestFirstSearch());
-        loadedPathfinders.add(new StrongAStar());
-        loadedPathfinders.add(new TiebreakerAStar());
-        // "None" must exist at the end of this list
-        loadedPathfinders.add(new None());
+        loadedPathfinders.addAll(createPathfinders());
 
         // Initialize pathfinders. Load the first several as the default ones.
         for (int i = 0; i < subgridPositions.length; i++) {
@@ -186,6 +231,11 @@ public class Main {
             }
             pathfinders.put(subgridPositions[i], pathfinder);
         }
+        for (Pathfinder pathfinder : loadedPathfinders) {
+            if (pathfinder instanceof TerrainListener) {
+                addTerrainListener((TerrainListener) pathfinder);
+            }
+        }
         initializePathfinders();
 
         // Initialize GUI and grid labels
@@ -193,7 +243,84 @@ public class Main {
         updateSubgridLabels();
         updateSolutionLabels();
 
-        run();
+        grid.addMouseListener(new EditListener());
+        stepTimer.setInitialDelay(0);
+    }
+
+    /**
+     * Sets the grid dimensions from the command line arguments, exiting with a usage message if
+     * they are not valid.
+     *
+     * @param args The command line arguments.
+     * @since v1.5.22
+     */
+    private static void parseArguments(String[] args) {
+        try {
+            for (int i = 0; i < args.length; i++) {
+                if (i + 1 == args.length) {
+                    usage("Missing value for " + args[i]);
+                }
+                String value = args[++i];
+                switch (args[i - 1]) {
+                    case "--size":
+                        String[] size = value.split("x");
+                        gridWidth = Integer.parseInt(size[0]);
+                        gridHeight = Integer.parseInt(size[1]);
+                        break;
+                    case "--grids":
+                        String[] grids = value.split("x");
+                        gridsHorz = Integer.parseInt(grids[0]);
+                        gridsVert = Integer.parseInt(grids[1]);
+                        break;
+                    case "--cell-size":
+                        cellSize = Integer.parseInt(value);
+                        break;
+                    default:
+                        usage("Unknown option " + args[i - 1]);
+                }
+            }
+        } catch (NumberFormatException | ArrayIndexOutOfBoundsException e) {
+            usage("Invalid value: " + e.getMessage());
+        }
+
+        // Subgrids must be wide enough for the start and target to be placed apart
+        if (gridWidth < 4 || gridHeight < 1 || gridsHorz < 1 || gridsVert < 1 || cellSize < 1) {
+            usage("Subgrids must be at least 4x1 cells, with at least one subgrid and 1 pixel per cell");
+        }
+    }
+
+    private static void usage(String message) {
+        System.err.println(message);
+        System.err.println("Usage: java Main [--size WxH] [--grids CxR] [--cell-size n]");
+        System.exit(1);
+    }
+
+    /**
+     * Creates a new instance of every pathfinder that can be selected, in the order they are
+     * listed. "None" is always last.
+     *
+     * @return A new list of pathfinders.
+     * @since v1.5.19
+     */
+    public static List<Pathfinder> createPathfinders() {
+        List<Pathfinder> loaded = new ArrayList<>();
+        loaded.add(new Dijkstra());
+        loaded.add(new DialsAlgorithm());
+        loaded.add(new BreadthFirstSearch());
+        loaded.add(new AStar());
+        loaded.add(new GreedyBestFirstSearch());
+        loaded.add(new StrongAStar());
+        loaded.add(new TiebreakerAStar());
+        loaded.add(new LandmarkAStar());
+        loaded.add(new FlowFieldAStar());
+        loaded.add(new JumpPointSearch());
+        loaded.add(new BidirectionalDijkstra());
+        loaded.add(new BidirectionalAStar());
+        loaded.add(new HierarchicalAStar());
+        loaded.add(new DStarLite());
+        // "None" must exist at the end of this list
+        loaded.add(new None());
+        return loaded;
     }
 
     /**
@@ -236,6 +363,11 @@ public class Main {
             public void stateChanged(ChangeEvent e) {
                 JSlider source = (JSlider) e.getSource();
                 selectedDelay = MAX_DELAY - source.getValue();
+                if (solver == null) {
+                    stepTimer.setDelay(Math.max(1, selectedDelay));
+                    // Speeding up shouldn't wait out the rest of the old delay
+                    nextStepTime = Math.min(nextStepTime, System.nanoTime() + selectedDelay * 1_000_000L);
+                }
             }
         });
         controlPanel.add(speedSlider);
@@ -245,8 +377,6 @@ public class Main {
         clearButton.addActionListener(new ActionListener() {
             @Override
             public void actionPerformed(ActionEvent e) {
-                started = false;
-                running = false;
                 reset();
                 initializeSubgrids();
             }
@@ -257,6 +387,10 @@ public class Main {
         stepButton.addActionListener(new ActionListener() {
             @Override
             public void actionPerformed(ActionEvent e) {
+                // The pathfinders can't be stepped while they're being solved in the background
+                if (solver != null || instantSolver != null) {
+                    setRunning(false);
+                }
                 stepAlgorithms();
             }
         });
@@ -266,11 +400,20 @@ public class Main {
         runButton.addActionListener(new ActionListener() {
             @Override
             public void actionPerformed(ActionEvent e) {
-                running = true;
+                setRunning(true);
             }
         });
         controlPanel.add(runButton);
 
+        instantButton = new JButton("Instant");
+        instantButton.addActionListener(new ActionListener() {
+            @Override
+            public void actionPerformed(ActionEvent e) {
+                solveInstantly();
+            }
+        });
+        controlPanel.add(instantButton);
+
         JButton resetButton = new JButton("Reset");
         resetButton.addActionListener(new ActionListener() {
             @Override
@@ -280,6 +423,15 @@ public class Main {
         });
         controlPanel.add(resetButton);
 
+        JCheckBox backgroundSolveBox = new JCheckBox("Background Solve");
+        backgroundSolveBox.addActionListener(new ActionListener() {
+            @Override
+            public void actionPerformed(ActionEvent e) {
+                backgroundSolve = backgroundSolveBox.isSelected();
+            }
+        });
+        controlPanel.add(backgroundSolveBox);
+
         JLabel weightSliderValue = new JLabel("X");
         JSlider weightSlider = new JSlider(JSlider.HORIZONTAL, 1, MAX_COST, MAX_COST);
         weightSlider.addChangeListener(new ChangeListener() {
@@ -302,134 +454,17 @@ public class Main {
         presetsPanel.setLayout(new GridLayout(10, 1));
         rightPanel.add(presetsPanel, BorderLayout.NORTH);
 
-        JButton genMaze = new JButton("Maze");
-        genMaze.addActionListener(new ActionListener() {
-            @Override
-            public void actionPerformed(ActionEvent e) {
-                reset();
-                initializeSubgrids();
-
-                // Fill with all walls
-                for (int x = 0; x < GRID_WIDTH; x++) {
-                    for (int y = 0; y < GRID_HEIGHT; y++) {
-                        subgridsSet(x, y, WALL);
-                    }
-                }
-
-                generateMaze(0, 0, getRandom());
-
-                // Start in top left corner, target in bottom right
-                setStartPosition(0, 0);
-                setTargetPosition(GRID_WIDTH - 1, GRID_HEIGHT - 1);
-            }
-        });
-        presetsPanel.add(genMaze);
-
-        JButton genWeightedMaze = new JButton("Weighted Maze");
-        genWeightedMaze.addActionListener(new ActionListener() {
-            @Override
-            public void actionPerformed(ActionEvent e) {
-                reset();
-                initializeSubgrids();
-
-                // Fill with all walls
-                for (int x = 0; x < GRID_WIDTH; x++) {
-                    for (int y = 0; y < GRID_HEIGHT; y++) {
-                        subgridsSet(x, y, WALL);
-                    }
-                }
-
-                generateMaze(0, 0, getRandom());
-                randomlyWeightWalls(MAX_COST / 2);
-
-                // Start in top left corner, target in bottom right
-                setStartPosition(0, 0);
-                setTargetPosition(GRID_WIDTH - 1, GRID_HEIGHT - 1);
-            }
-        });
-        presetsPanel.add(genWeightedMaze);
-
-        JButton genRandom = new JButton("Randomized");
-        genRandom.addActionListener(new ActionListener() {
-            @Override
-            public void actionPerformed(ActionEvent e) {
-                reset();
-                Random rand = getRandom();
-
-                for (int x = 0; x < GRID_WIDTH; x++) {
-                    for (int y = 0; y < GRID_HEIGHT; y++) {
-                        double r = rand.nextDouble();
-                        if (r < 1.0 / 4.0) {
-                            subgridsSet(x, y, WALL);
-                        } else if (r <= 2.0 / 4.0) {
-                            subgridsSet(x, y, EMPTY);
-                        } else {
-                            int randomWeight = WEIGHTED + 1 + (int) ((MAX_COST - 1) * rand.nextDouble());
-                            subgridsSet(x, y, randomWeight);
-                        }
-                    }
-                }
-
-                // Start in top left corner, target in bottom right.
-                setStartPosition(1, 1);
-                setTargetPosition(GRID_WIDTH - 2, GRID_HEIGHT - 2);
-            }
-        });
-        presetsPanel.add(genRandom);
-
-        JButton genGradient = new JButton("Gradient");
-        genGradient.addActionListener(new ActionListener() {
-            @Override
-            public void actionPerformed(ActionEvent e) {
-                reset();
-
-                for (int x = 0; x < GRID_WIDTH; x++) {
-                    for (int y = 0; y < GRID_HEIGHT; y++) {
-                        // The weight of the cell. Weight is max in the y-center, decreasing going out
-                        int diff = (int) ((1 - ((double) Math.abs(y - GRID_HEIGHT / 2) / (GRID_HEIGHT / 2))) * (MAX_COST - 1));
-                        int finalWeight = WEIGHTED + diff;
-                        if (diff == 0) {
-                            finalWeight = EMPTY;
-                        }
-                        subgridsSet(x, y, finalWeight);
-                    }
-                }
-
-                // Start at left center, target at right center.
-                setStartPosition(1, GRID_HEIGHT / 2);
-                setTargetPosition(GRID_WIDTH - 2, GRID_HEIGHT / 2);
-            }
-        });
-        presetsPanel.add(genGradient);
-
-        JButton genRandomGradient = new JButton("Randomized Gradient");
-        genRandomGradient.addActionListener(new ActionListener() {
-            @Override
-            public void actionPerformed(ActionEvent e) {
-                reset();
-                Random rand = getRandom();
-
-                for (int x = 0; x < GRID_WIDTH; x++) {
-                    for (int y = 0; y < GRID_HEIGHT; y++) {
-                        // The weight of the cell. Weight is max in the y-center, decreasing going out
-                        int diff = (int) ((1 - ((double) Math.abs(y - GRID_HEIGHT / 2) / (GRID_HEIGHT / 2))) * (MAX_COST - 1));
-                        int finalWeight = WEIGHTED + (diff - (int) (diff * rand.nextDouble()));
-                        if (diff == 0) {
-                            finalWeight = EMPTY;
-                        }
-
-                        // Randomly subtract some amount from this weight
-                        // int randomWeight = WEIGHTED + 1 + (int) (diff - ((diff) * rand.nextDouble()));
-                        subgridsSet(x, y, finalWeight);
-                    }
+        for (String presetName : Presets.NAMES) {
+            JButton presetButton = new JButton(presetName);
+            presetButton.addActionListener(new ActionListener() {
+                @Override
+                public void actionPerformed(ActionEvent e) {
+                    reset();
+                    loadTerrain(Presets.create(presetName, gridWidth, gridHeight, seed));
                 }
-
-                // Start at left center, target at right center.
-                setStartPosition(1, GRID_HEIGHT / 2);
-                setTargetPosition(GRID_WIDTH - 2, GRID_HEIGHT / 2);
-            }
-        });
-        presetsPanel.add(genRandomGradient);
+            });
+            presetsPanel.add(presetButton);
+        }
 
         //////////////////////// RIGHT BOTTOM (Editing Functions) ////////////////////////
         JPanel editorPanel = new JPanel();
@@ -441,7 +476,17 @@ public class Main {
             @Override
             public void actionPerformed(ActionEvent e) {
                 reset();
-                grid.replace(EMPTY, WALL);
+
+                grid.setAutoRepaint(false);
+                for (int y = 0; y < gridHeight; y++) {
+                    for (int x = 0; x < gridWidth; x++) {
+                        if (grid.get(BORDER_SIZE + x, BORDER_SIZE + y) == EMPTY) {
+                            subgridsSet(x, y, WALL);
+                        }
+                    }
+                }
+                grid.setAutoRepaint(true);
+                grid.repaint();
             }
         });
         editorPanel.add(wallFill);
@@ -452,13 +497,16 @@ public class Main {
             public void actionPerformed(ActionEvent e) {
                 reset();
 
-                for (int x = 0; x < GRID_WIDTH; x++) {
-                    for (int y = 0; y < GRID_HEIGHT; y++) {
+                grid.setAutoRepaint(false);
+                for (int y = 0; y < gridHeight; y++) {
+                    for (int x = 0; x < gridWidth; x++) {
                         if (isWeightedCell(grid.get(BORDER_SIZE + x, BORDER_SIZE + y))) {
                             subgridsSet(x, y, EMPTY);
                         }
                     }
                 }
+                grid.setAutoRepaint(true);
+                grid.repaint();
             }
         });
         editorPanel.add(clearWeights);
@@ -526,64 +574,58 @@ public class Main {
     }
 
     /**
-     * Creates an identical maze in all subgrids. Subgrids must be filled with all WALLS prior to
-     * this method being called, or no maze will be produced. The created maze will have no cycles.
+     * Copies a terrain into all subgrids, including its start and target points.
      *
-     * @param x    The x-coordinate to generate the maze from.
-     * @param y    The y-coordinate to generate the maze from.
-     * @param rand The source of randomness used to generate the maze.
-     * @since v1.3.2
+     * @param terrain The terrain to load. Must be the same size as the subgrids.
+     * @since v1.5.19
      */
-    private static void generateMaze(int x, int y, Random rand) {
-        // Check the value to make sure we're still in a wall.
-        // (Using subgrid 1 to check)
-        if (grid.get(BORDER_SIZE + x, BORDER_SIZE + y) != WALL) {
-            return;
-        }
-        subgridsSet(x, y, EMPTY);
-
-        List<Point> directions = new ArrayList<>();
-        directions.add(new Point(1, 0));
-        directions.add(new Point(-1, 0));
-        directions.add(new Point(0, 1));
-        directions.add(new Point(0, -1));
-        Collections.shuffle(directions, rand);
-
-        for (Point direction : directions) {
-            boolean canTunnel = false;
-            Point p1 = new Point(x + direction.x, y + direction.y);
-            if (grid.get(BORDER_SIZE + p1.x, BORDER_SIZE + p1.y) == WALL) {
-                Point p2 = new Point(p1);
-                p2.translate(direction.x, direction.y);
-
-                if (grid.get(BORDER_SIZE + p2.x, BORDER_SIZE + p2.y) == WALL) {
-                    subgridsSet(p1.x, p1.y, EMPTY);
-                    canTunnel = true;
-                }
-            }
-
-            if (canTunnel) {
-                generateMaze(x + direction.x * 2, y + direction.y * 2, rand);
+    private static void loadTerrain(Terrain terrain) {
+        // Repaint once at the end rather than once per cell
+        grid.setAutoRepaint(false);
+        for (int y = 0; y < gridHeight; y++) {
+            for (int x = 0; x < gridWidth; x++) {
+                subgridsSet(x, y, terrain.get(x, y));
             }
         }
+
+        Point start = terrain.getStart();
+        Point target = terrain.getTarget();
+        setStartPosition(start.x, start.y);
+        setTargetPosition(target.x, target.y);
+        grid.setAutoRepaint(true);
+        grid.repaint();
     }
 
     /**
-     * Replaces the walls in all subgrids with randomly weighted cells.
+     * Adds the layers used to show the progress of the pathfinders to a grid, and sets the colors
+     * and text of every cell value.
      *
-     * @param min The minimum cell weight that can be randomly assigned.
-     * @since v1.3.3
+     * @param canvas The grid to set up.
+     * @since v1.5.20
      */
-    private static void randomlyWeightWalls(int min) {
-        Random rand = getRandom();
-        min--;
-        for (int x = 0; x < GRID_WIDTH; x++) {
-            for (int y = 0; y < GRID_HEIGHT; y++) {
-                if (grid.get(BORDER_SIZE + x, BORDER_SIZE + y) == WALL) {
-                    int randomWeight = WEIGHTED + 1 + (int) (min + (MAX_COST - 1 - min) * rand.nextDouble());
-                    subgridsSet(x, y, randomWeight);
-                }
-            }
+    public static void setupGrid(SimpleGrid canvas) {
+        canvas.setGridlineColor(Color.GRAY);
+        canvas.addLayer(); // Layer 1 shows the explored cells and solution path
+        canvas.addLayer(); // Layer 2 shows the frontier cells
+
+        canvas.setColor(BG, Color.GRAY);
+        canvas.setColor(EMPTY, Color.WHITE);
+        canvas.setColor(WALL, new Color(20, 20, 20));
+        canvas.setColor(START, Color.GREEN);
+        canvas.setColor(TARGET, Color.RED);
+        canvas.setColor(EXPLORED, Color.LIGHT_GRAY);
+        canvas.setColor(SOLUTION, Color.CYAN);
+        canvas.setColor(FRONTIER, new Color(171, 213, 255));
+        for (int i = 0; i < 128; i++) {
+            canvas.setText(ASCII_OFFSET + i, (char) i);
+            canvas.setTextColor(ASCII_OFFSET + i, Color.WHITE);
+            canvas.setColor(ASCII_OFFSET + i, Color.GRAY);
+        }
+        for (int i = 1; i < MAX_COST; i++) {
+            int value = WEIGHTED + i;
+            int increment = (255 - WEIGHTED_MIN_COLOR) / MAX_COST;
+            canvas.setColor(value, new Color(255, 255 - (i * increment) / 2, 255 - i * increment));
+            canvas.setTextColor(value, Color.BLACK);
         }
     }
 
@@ -595,7 +637,7 @@ public class Main {
      */
     private static void reset() {
         started = false;
-        running = false;
+        setRunning(false);
         clearExploration();
         for (JComboBox box : algorithmSelectors) {
             box.setEnabled(true);
@@ -623,7 +665,7 @@ public class Main {
     private static void updateSubgridLabels() {
         for (Point pathfinderPos : subgridPositions) {
             // Clear previous text
-            for (int x = 0; x < GRID_WIDTH; x++) {
+            for (int x = 0; x < gridWidth; x++) {
                 grid.set(pathfinderPos.x + x, pathfinderPos.y - 2, BG);
             }
             drawText(pathfinderPos.x, pathfinderPos.y - 2, pathfinders.get(pathfinderPos).toString());
@@ -644,7 +686,7 @@ public class Main {
 
         for (Point pathfinderPos : subgridPositions) {
             // Clear previous text
-            for (int x = 0; x < GRID_WIDTH; x++) {
+            for (int x = 0; x < gridWidth; x++) {
                 grid.set(pathfinderPos.x + x, pathfinderPos.y - 1, BG);
             }
 
@@ -661,14 +703,17 @@ public class Main {
      * subgrid.
      */
     private static void initializeSubgrids() {
-        for (int x = 0; x < GRID_WIDTH; x++) {
-            for (int y = 0; y < GRID_HEIGHT; y++) {
+        grid.setAutoRepaint(false);
+        for (int y = 0; y < gridHeight; y++) {
+            for (int x = 0; x < gridWidth; x++) {
                 subgridsSet(x, y, EMPTY);
             }
         }
         clearExploration();
-        setStartPosition(GRID_WIDTH / 4, GRID_HEIGHT / 2);
-        setTargetPosition(GRID_WIDTH - GRID_WIDTH / 4, GRID_HEIGHT / 2);
+        setStartPosition(gridWidth / 4, gridHeight / 2);
+        setTargetPosition(gridWidth - gridWidth / 4, gridHeight / 2);
+        grid.setAutoRepaint(true);
+        grid.repaint();
     }
 
     /**
@@ -697,16 +742,14 @@ public class Main {
 
     /**
      * Initializes all pathfinders with the currently set start and endpoints. All pathfinders are
-     * also marked as not completed.
+     * also marked as not completed. Pathfinders search the terrain in local subgrid coordinates.
      */
     private static void initializePathfinders() {
+        GridGraph graph = getGraph();
         for (Point pathfinderPos : subgridPositions) {
             pathfinderData.put(pathfinderPos, new PathfinderData());
-            Point globalStart = new Point(startLocalPos.x + pathfinderPos.x, startLocalPos.y + pathfinderPos.y);
-            Point globalTarget = new Point(targetLocalPos.x + pathfinderPos.x, targetLocalPos.y + pathfinderPos.y);
-            pathfinders.get(pathfinderPos).initialize(globalStart, globalTarget);
+            pathfinders.get(pathfinderPos).initialize(graph, startLocalPos, targetLocalPos);
         }
-
     }
 
     /**
@@ -717,6 +760,7 @@ public class Main {
     private static void clearExploration() {
         grid.fill(1, 0);
         grid.fill(2, 0);
+        frontierCells.clear();
     }
 
     /**
@@ -731,95 +775,165 @@ public class Main {
     }
 
     /**
-     * Main loop. Controls mouse input and algorithm progression.
+     * Edits the terrain of all subgrids at a cell the mouse is pressed on or dragged over. The
+     * first cell the mouse reaches decides what dragging does: the start and target points are
+     * moved, empty cells are turned into walls or weighted cells, and walls and weighted cells are
+     * erased. The terrain can't be edited once the pathfinders have started.
+     *
+     * @param mousePos The cell the mouse is over, or null if it isn't over a cell.
+     * @since v1.5.23
      */
-    private static void run() {
-        while (true) {
-            if (grid.isMouseDown()) {
-                Point mousePos = grid.getMousePosition();
-                if (started || grid.isOOB(mousePos)) {
-                    continue;
+    private static void editCell(Point mousePos) {
+        if (started || grid.isOOB(mousePos)) {
+            return;
+        }
+        Point mouseLocalPos = getLocalPos(mousePos);
+        int currentlyOver = grid.get(mousePos);
+        if (initialClick == -1) {
+            initialClick = currentlyOver;
+        }
+
+        if (initialClick == START) {
+            // Drag start point
+            if (currentlyOver == EMPTY) {
+                subgridsSet(startLocalPos, EMPTY);
+                subgridsSet(mouseLocalPos, START);
+                startLocalPos = mouseLocalPos;
+            }
+        } else if (initialClick == TARGET) {
+            // Drag target point
+            if (currentlyOver == EMPTY) {
+                subgridsSet(targetLocalPos, EMPTY);
+                subgridsSet(mouseLocalPos, TARGET);
+                targetLocalPos = mouseLocalPos;
+            }
+        } else if (selectedWeight == MAX_COST) {
+            if (initialClick == EMPTY) {
+                // Make walls
+                if (currentlyOver == EMPTY) {
+                    subgridsSet(mouseLocalPos, WALL);
                 }
-                Point mouseLocalPos = getLocalPos(mousePos);
-
-                // Mouse pressed down for the first time
-                if (!isMouseDown) {
-                    isMouseDown = true;
-                    initialClick = grid.get(mousePos);
-                } else { // Mouse already down
-                    int currentlyOver = grid.get(mousePos);
-
-                    if (initialClick == START) {
-                        // Drag start point
-                        if (currentlyOver == EMPTY) {
-                            subgridsSet(startLocalPos, EMPTY);
-                            subgridsSet(mouseLocalPos, START);
-                            startLocalPos = mouseLocalPos;
-                        }
-                    } else if (initialClick == TARGET) {
-                        // Drag target point
-                        if (currentlyOver == EMPTY) {
-                            subgridsSet(targetLocalPos, EMPTY);
-                            subgridsSet(mouseLocalPos, TARGET);
-                            targetLocalPos = mouseLocalPos;
-                        }
-                    } else if (selectedWeight == MAX_COST) {
-                        if (initialClick == EMPTY) {
-                            // Make walls
-                            if (currentlyOver == EMPTY) {
-                                subgridsSet(mouseLocalPos, WALL);
-                            }
-                        } else if (initialClick == WALL || isWeightedCell(initialClick)) {
-                            // Erase walls
-                            if (currentlyOver == WALL || isWeightedCell(currentlyOver)) {
-                                subgridsSet(mouseLocalPos, EMPTY);
-                            }
-                        }
-                    } else {
-                        if (currentlyOver == EMPTY || isWeightedCell(currentlyOver)) {
-                            subgridsSet(mouseLocalPos, WEIGHTED + selectedWeight);
-                        }
-                    }
+            } else if (initialClick == WALL || isWeightedCell(initialClick)) {
+                // Erase walls
+                if (currentlyOver == WALL || isWeightedCell(currentlyOver)) {
+                    subgridsSet(mouseLocalPos, EMPTY);
                 }
-            } else {
-                isMouseDown = false;
             }
+        } else {
+            if (currentlyOver == EMPTY || isWeightedCell(currentlyOver)) {
+                subgridsSet(mouseLocalPos, WEIGHTED + selectedWeight);
+            }
+        }
+    }
 
-            // Continually advances all algorithms until they complete, with a small delay between
-            // each step.
-            while (running) {
-                stepAlgorithms();
+    /**
+     * Starts or stops advancing all algorithms. If background solving is enabled, the algorithms
+     * are solved as fast as possible on a worker thread, and their progress is drawn at a fixed
+     * frame rate. Otherwise, they are stepped at the selected speed.
+     *
+     * @param run Whether to advance the algorithms.
+     * @since v1.5.23
+     */
+    private static void setRunning(boolean run) {
+        stepTimer.stop();
+        if (instantSolver != null) {
+            // Draw whatever was solved before the solver stopped
+            instantSolveStopped = true;
+            finishSolvingInstantly();
+        }
+        if (solver != null) {
+            // Catch the grid up to where the pathfinders stopped
+            solver.stop();
+            drawSolverProgress();
+            solver = null;
+        }
 
-                boolean allDone = true;
-                for (Point p : pathfinderData.keySet()) {
-                    if (!pathfinderData.get(p).done) {
-                        allDone = false;
-                        break;
-                    }
-                }
-                if (allDone) {
-                    running = false;
-                    // If all algorithms are complete, do one last step so that
-                    // the final displays update (e.g. the frontier is removed)
-                    stepAlgorithms();
-                }
+        running = run;
+        if (run && backgroundSolve) {
+            // The solver starts by reporting the whole frontier, and leaves it drawn from its
+            // changes for stepping to carry on from
+            grid.fill(2, 0);
+            frontierCells.clear();
+            frontierStale = false;
+
+            startAlgorithms();
+            solver = new BackgroundSolver(getPathfindersToStep(), gridWidth);
+            drawnProgress.clear();
+            solver.start();
+            stepTimer.setDelay(FRAME_DELAY);
+            stepTimer.start();
+        } else if (run) {
+            nextStepTime = System.nanoTime();
+            stepTimer.setDelay(Math.max(1, selectedDelay));
+            stepTimer.start();
+        }
+    }
 
-                try {
-                    Thread.sleep(selectedDelay);
-                } catch (InterruptedException e) {
-                    e.printStackTrace();
-                }
+    /**
+     * Advances all algorithms while running, until they all complete. When solving in the
+     * background, this draws the latest progress of the solver. Otherwise, it takes the steps that
+     * are due. Steps are due at fixed times from when running started, rather than a delay after
+     * the previous step, so a tick of the timer that comes late takes the steps it missed. Stepping
+     * stops for a repaint after {@link #MAX_TICK_TIME}, and any steps still due then are skipped,
+     * so that a slow machine or a large grid runs slower rather than freezing.
+     *
+     * @since v1.5.23
+     */
+    private static void stepWhileRunning() {
+        if (solver != null) {
+            drawSolverProgress();
+            if (isAllDone()) {
+                setRunning(false);
+                // Clear the final frontier, as stepping does below
+                stepAlgorithms();
+            }
+            return;
+        }
+
+        long delay = selectedDelay * 1_000_000L;
+        long tickStart = System.nanoTime();
+        while (running && tickStart - nextStepTime >= 0 && System.nanoTime() - tickStart < MAX_TICK_TIME) {
+            // The steps that are due are taken several at a time, so that handing the pathfinders to
+            // the threads that step them costs less than the steps themselves
+            long due = delay == 0 ? MAX_STEPS_PER_TASK : (tickStart - nextStepTime) / delay + 1;
+            int steps = (int) Math.min(due, MAX_STEPS_PER_TASK);
+            stepAlgorithms(steps);
+            nextStepTime += delay * steps;
+
+            if (isAllDone()) {
+                setRunning(false);
+                // If all algorithms are complete, do one last step so that
+                // the final displays update (e.g. the frontier is removed)
+                stepAlgorithms();
             }
         }
+        if (tickStart - nextStepTime >= 0) {
+            nextStepTime = tickStart + delay;
+        }
     }
 
     /**
-     * Advances all algorithms one iteration.
+     * Returns whether every algorithm has found a path or run out of cells to explore.
+     *
+     * @return True if every algorithm is done, false otherwise.
+     * @since v1.5.24
      */
-    private static void stepAlgorithms() {
-        // Prevent flickering when frontier cells are being drawn
-        grid.setAutoRepaint(false);
+    private static boolean isAllDone() {
+        for (PathfinderData data : pathfinderData.values()) {
+            if (!data.done) {
+                return false;
+            }
+        }
+        return true;
+    }
 
+    /**
+     * Initializes the pathfinders and disables algorithm selection, if the algorithms haven't
+     * been started yet.
+     *
+     * @since v1.5.24
+     */
+    private static void startAlgorithms() {
         if (!started) {
             for (JComboBox box : algorithmSelectors) {
                 box.setEnabled(false);
@@ -827,62 +941,243 @@ public class Main {
             initializePathfinders();
         }
         started = true;
+    }
 
-        // Clear the previous frontier cell display
-        grid.replace(2, FRONTIER, 0);
-
-        // This set keeps track of which algorithms have step()'d on this method call. It is used in
-        // the event that multiple of the same algorithm have been selected in different subgrids to
-        // skip the algorithm from being step()'d multiple times per call to this method.
+    /**
+     * Returns the pathfinders that haven't completed yet. Pathfinders selected in multiple
+     * subgrids are only returned once, so that they're only stepped once at a time, and their
+     * results are drawn in each of those subgrids.
+     *
+     * @return The pathfinders to step.
+     * @since v1.5.24
+     */
+    private static List<Pathfinder> getPathfindersToStep() {
+        List<Pathfinder> pathfindersToStep = new ArrayList<>();
         Set<Pathfinder> alreadyProcessed = new HashSet<>();
         for (Point pathfinderPos : subgridPositions) {
-            PathfinderData data = pathfinderData.get(pathfinderPos);
+            Pathfinder pathfinder = pathfinders.get(pathfinderPos);
+            if (!pathfinderData.get(pathfinderPos).done && alreadyProcessed.add(pathfinder)) {
+                pathfindersToStep.add(pathfinder);
+            }
+        }
+        return pathfindersToStep;
+    }
 
-            if (!data.done) {
-                Pathfinder pathfinder = pathfinders.get(pathfinderPos);
-                // If this algorithm is selected multiple times and has already step()'d this
-                // iteration, skip doing it again
-                if (alreadyProcessed.contains(pathfinder)) {
-                    continue;
-                }
-                alreadyProcessed.add(pathfinder);
+    /**
+     * Runs all algorithms to completion at once on a worker thread, then draws every cell they
+     * explored along the way, their solutions and their data. Nothing is drawn until they're all
+     * done, so they're solved in a tight loop rather than stepped. The pathfinders are solved a
+     * chunk of steps at a time, so that stopping or resetting doesn't wait for them to finish, and
+     * the Instant button is disabled until they do.
+     *
+     * @since v1.5.27
+     */
+    private static void solveInstantly() {
+        setRunning(false);
+        startAlgorithms();
 
-                data.steps++; // Increment step counter
+        // The frontier drawn from changes has to be redrawn in full if stepped again
+        grid.fill(2, 0);
+        frontierCells.clear();
+        frontierStale = true;
+
+        List<Pathfinder> pathfindersToSolve = getPathfindersToStep();
+        int width = gridWidth;
+        instantSolveStopped = false;
+        instantResults = null;
+        instantButton.setEnabled(false);
+        instantSolver = new Thread(() -> {
+            List<StepResult> solveResults = pathfindersToSolve.parallelStream()
+                    .map(pathfinder -> {
+                        CellBuffer exploredCells = new CellBuffer(width);
+                        PathfinderData solved = new PathfinderData();
+                        List<Point> solution = null;
+                        while (!solved.done && !instantSolveStopped) {
+                            solution = pathfinder.solve(solved, exploredCells, SOLVE_CHUNK_STEPS);
+                        }
+                        return new StepResult(exploredCells, Collections.emptyList(), null, null, solution,
+                                solved.steps, solved.done && solution == null);
+                    })
+                    .collect(Collectors.toList());
+            Map<Pathfinder, StepResult> results = new HashMap<>();
+            for (int i = 0; i < pathfindersToSolve.size(); i++) {
+                results.put(pathfindersToSolve.get(i), solveResults.get(i));
+            }
+            instantResults = results;
 
-                // Display explored cells
-                List<Point> exploredCells = pathfinder.step();
-                for (Point p : exploredCells) {
-                    int currentValue = grid.get(p);
-                    if (currentValue != START && currentValue != TARGET) {
-                        grid.set(1, p, EXPLORED);
-                    }
+            // Stopping early already drew the results
+            Thread thread = Thread.currentThread();
+            SwingUtilities.invokeLater(() -> {
+                if (instantSolver == thread) {
+                    finishSolvingInstantly();
                 }
+            });
+        }, "instant-solver");
+        instantSolver.setDaemon(true);
+        instantSolver.start();
+    }
+
+    /**
+     * Waits for the instant solver to end, then draws its results and enables the Instant button
+     * again.
+     *
+     * @since v1.5.27
+     */
+    private static void finishSolvingInstantly() {
+        try {
+            instantSolver.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        instantSolver = null;
+        instantButton.setEnabled(true);
+        if (instantResults != null) {
+            drawResults(instantResults);
+            instantResults = null;
+        }
+    }
 
-                // Display cells to be explored
-                Set<Point> frontier = pathfinder.getFrontier();
-                for (Point p : frontier) {
-                    grid.set(2, p, FRONTIER);
+    /**
+     * Advances all algorithms one iteration.
+     */
+    private static void stepAlgorithms() {
+        stepAlgorithms(1);
+    }
+
+    /**
+     * Advances all algorithms several iterations, then draws them. Every algorithm takes the same
+     * number of steps, unless it is done before then, so they stay as far along as each other.
+     *
+     * @param steps The number of steps to take.
+     * @since v1.5.27
+     */
+    private static void stepAlgorithms(int steps) {
+        startAlgorithms();
+        List<Pathfinder> pathfindersToStep = getPathfindersToStep();
+        for (Pathfinder pathfinder : pathfindersToStep) {
+            stepBuffers.computeIfAbsent(pathfinder, p -> new StepBuffers(gridWidth));
+        }
+
+        // Step every pathfinder at once. They each search their own state over the same immutable
+        // graph, so only the grid, which isn't thread safe, has to wait until they're all done. A
+        // single pathfinder gains nothing from being handed to another thread.
+        boolean redrawFrontier = frontierStale;
+        Stream<Pathfinder> stream = pathfindersToStep.size() > 1 ? pathfindersToStep.parallelStream()
+                : pathfindersToStep.stream();
+        List<StepResult> stepResults = stream
+                .map(pathfinder -> new StepResult(pathfinder, stepBuffers.get(pathfinder), steps, redrawFrontier))
+                .collect(Collectors.toList());
+        Map<Pathfinder, StepResult> results = new HashMap<>();
+        for (int i = 0; i < pathfindersToStep.size(); i++) {
+            results.put(pathfindersToStep.get(i), stepResults.get(i));
+        }
+        drawResults(results);
+        frontierStale = false;
+    }
+
+    /**
+     * Draws the latest progress published by the background solver. Only the cells explored and the
+     * frontier changes since the progress drawn last are drawn, so that progress published in
+     * between, which is never drawn on its own, isn't missed.
+     *
+     * @since v1.5.24
+     */
+    private static void drawSolverProgress() {
+        Map<Pathfinder, StepResult> results = new HashMap<>();
+        for (Map.Entry<Pathfinder, BackgroundSolver.Progress> entry : solver.getProgress().entrySet()) {
+            BackgroundSolver.Progress progress = entry.getValue();
+            BackgroundSolver.Progress drawn = drawnProgress.get(entry.getKey());
+            int exploredBefore = drawn == null ? 0 : drawn.getExploredCount();
+            int stepsBefore = drawn == null ? 0 : drawn.getSteps();
+            results.put(entry.getKey(), new StepResult(progress.getExploredSince(exploredBefore),
+                    progress.getFrontier(), progress.getFrontierAdded(), progress.getFrontierRemoved(),
+                    progress.getSolution(), progress.getSteps() - stepsBefore,
+                    progress.isDone() && progress.getSolution() == null));
+            drawnProgress.put(entry.getKey(), progress);
+        }
+        drawResults(results);
+    }
+
+    /**
+     * Draws the results of stepping the pathfinders into every subgrid using them, replacing the
+     * previously drawn frontier.
+     *
+     * @param results The results of each pathfinder that was stepped.
+     * @since v1.5.24
+     */
+    private static void drawResults(Map<Pathfinder, StepResult> results) {
+        // Prevent flickering when frontier cells are being drawn
+        grid.setAutoRepaint(false);
+
+        // Clear the frontier cells that were only drawn until the next step. Frontiers that are drawn
+        // from their changes are left, since only the cells that changed have to be redrawn
+        for (Point p : frontierCells) {
+            grid.set(2, p, 0);
+        }
+        frontierCells.clear();
+
+        int start = startLocalPos.y * gridWidth + startLocalPos.x;
+        int target = targetLocalPos.y * gridWidth + targetLocalPos.x;
+        for (Point pathfinderPos : subgridPositions) {
+            PathfinderData data = pathfinderData.get(pathfinderPos);
+            StepResult result = results.get(pathfinders.get(pathfinderPos));
+            if (data.done || result == null) {
+                continue;
+            }
+
+            data.steps += result.steps; // Increment step counter
+
+            // Display explored cells
+            CellBuffer exploredCells = result.exploredCells;
+            for (int i = 0; i < exploredCells.size(); i++) {
+                int cell = exploredCells.get(i);
+                if (cell != start && cell != target) {
+                    grid.set(1, pathfinderPos.x + cell % gridWidth, pathfinderPos.y + cell / gridWidth, EXPLORED);
                 }
+            }
 
-                // Display solution if one has been found
-                List<Point> solution = pathfinder.getSolution();
-                if (solution != null) {
-                    double cost = 0;
+            // Display cells to be explored. Cells that joined the frontier are drawn before the cells
+            // that left are cleared, since a cell can have done both since it was last drawn
+            if (result.frontier == null) {
+                CellBuffer added = result.frontierAdded;
+                for (int i = 0; i < added.size(); i++) {
+                    int cell = added.get(i);
+                    grid.set(2, pathfinderPos.x + cell % gridWidth, pathfinderPos.y + cell / gridWidth, FRONTIER);
+                }
+                CellBuffer removed = result.frontierRemoved;
+                for (int i = 0; i < removed.size(); i++) {
+                    int cell = removed.get(i);
+                    grid.set(2, pathfinderPos.x + cell % gridWidth, pathfinderPos.y + cell / gridWidth, 0);
+                }
+            } else {
+                for (Point p : result.frontier) {
+                    Point globalPos = new Point(pathfinderPos.x + p.x, pathfinderPos.y + p.y);
+                    grid.set(2, globalPos, FRONTIER);
+                    if (!result.frontierTracked) {
+                        frontierCells.add(globalPos);
+                    }
+                }
+            }
 
-                    for (Point p : solution) {
-                        int currentValue = grid.get(p);
-                        if (currentValue != START && currentValue != TARGET) {
-                            grid.set(1, p, SOLUTION);
-                            cost += getCost(p);
-                        }
+            // Display solution if one has been found
+            if (result.solution != null) {
+                for (Point p : result.solution) {
+                    if (!p.equals(startLocalPos) && !p.equals(targetLocalPos)) {
+                        grid.set(1, pathfinderPos.x + p.x, pathfinderPos.y + p.y, SOLUTION);
                     }
-                    cost++; // Add the final cost it takes to travel onto TARGET cell
+                }
 
-                    data.done = true;
-                    // Subtract 1 since the starting point shouldn't be included
-                    data.pathLength = solution.size() - 1;
-                    data.cost = cost;
-                    updateSolutionLabels();
+                data.setSolution(result.solution, getGraph());
+                updateSolutionLabels();
+            } else if (result.exhausted) {
+                data.done = true;
+            }
+
+            // The changes to a finished search's frontier are no longer drawn, so clear it with the
+            // next step like any other frontier
+            if (data.done && result.frontierTracked) {
+                for (Point p : pathfinders.get(pathfinderPos).getFrontier()) {
+                    frontierCells.add(new Point(pathfinderPos.x + p.x, pathfinderPos.y + p.y));
                 }
             }
         }
@@ -900,8 +1195,8 @@ public class Main {
     private static Point getLocalPos(Point globalPos) {
         Point localPos = new Point(globalPos);
         localPos.translate(-BORDER_SIZE, -BORDER_SIZE); // Remove border
-        localPos.x = localPos.x % (GRID_WIDTH + GRID_MARGIN_X);
-        localPos.y = localPos.y % (GRID_HEIGHT + GRID_MARGIN_Y);
+        localPos.x = localPos.x % (gridWidth + GRID_MARGIN_X);
+        localPos.y = localPos.y % (gridHeight + GRID_MARGIN_Y);
 
         return localPos;
     }
@@ -927,76 +1222,187 @@ public class Main {
         for (Point p : subgridPositions) {
             grid.set(p.x + x, p.y + y, value);
         }
+        terrainVersion++;
+        for (TerrainListener listener : terrainListeners) {
+            listener.cellChanged(x, y);
+        }
+    }
+
+    /**
+     * Registers a listener to be notified whenever a subgrid cell changes. Every subgrid holds the
+     * same terrain, so each change is reported once, in local subgrid coordinates.
+     *
+     * @param listener The listener to notify.
+     * @since v1.5.13
+     */
+    public static void addTerrainListener(TerrainListener listener) {
+        terrainListeners.add(listener);
+    }
+
+    /**
+     * Returns an immutable snapshot of the traversal costs of the terrain, in local subgrid
+     * coordinates. Every subgrid holds the same terrain, so all pathfinders share one snapshot. The
+     * snapshot is only retaken after the terrain has changed, so repeated calls are cheap.
+     *
+     * @return A graph of the current terrain.
+     * @since v1.5.9
+     */
+    public static GridGraph getGraph() {
+        if (graph == null || graph.getVersion() != terrainVersion) {
+            Point origin = subgridPositions[0];
+            byte[] costs = new byte[gridWidth * gridHeight];
+            for (int y = 0; y < gridHeight; y++) {
+                for (int x = 0; x < gridWidth; x++) {
+                    costs[y * gridWidth + x] = (byte) costOf(grid.get(origin.x + x, origin.y + y));
+                }
+            }
+            graph = new GridGraph(gridWidth, gridHeight, costs, terrainVersion);
+        }
+        return graph;
     }
 
     /**
-     * Returns a Random number generator seeded with the user specified seed if one exists. If none
-     * is specified, the generator is seeded with a default random seed of its own choosing.
+     * Returns the cost to travel onto a cell with the given value.
      *
-     * @return Random number generator, seeded with the user specified seed if one exists.
+     * @param value The cell value.
+     * @return The cost to travel onto a cell with the given value, or 0 if such a cell is not
+     * traversable.
+     * @since v1.5.9
      */
-    private static Random getRandom() {
-        Random rand = new Random();
-        if (seed != null) {
-            rand.setSeed(seed);
+    public static int costOf(int value) {
+        if (isWeightedCell(value)) {
+            return value - WEIGHTED + 1;
         }
-        return rand;
+        return (value == EMPTY || value == TARGET) ? 1 : 0;
     }
 
     /**
-     * Returns whether a cell is traversable as part of a path.
+     * The outcome of stepping a pathfinder, kept so that it can be drawn after every pathfinder has
+     * stepped. When solving in the background, it instead holds the outcome of every step taken
+     * since the last one drawn.
      *
-     * @param p The cell to check.
-     * @return Whether the cell is empty or the target cell.
+     * @since v1.5.18
      */
-    public static boolean isOpen(Point p) {
-        if (grid.isOOB(p.x, p.y)) {
-            return false;
+    private static class StepResult {
+        public final CellBuffer exploredCells;
+        public final Collection<Point> frontier; // Null if only the changes to the frontier are drawn
+        public final CellBuffer frontierAdded;
+        public final CellBuffer frontierRemoved;
+        public final boolean frontierTracked; // Whether the frontier is kept up to date by its changes
+        public final List<Point> solution;
+        public final int steps;
+        public final boolean exhausted; // Whether there is no path, as nothing is left to explore
+
+        /**
+         * Steps a pathfinder until it has taken the given number of steps or is done, and records
+         * the result of all of them.
+         *
+         * @param pathfinder     The pathfinder to step.
+         * @param buffers        The buffers to hold the outcome of the steps. They are cleared first,
+         *                       and must not be used again until the result is drawn.
+         * @param maxSteps       The most steps to take.
+         * @param redrawFrontier Whether to record the whole frontier even if the pathfinder reports
+         *                       the changes to it, as the frontier drawn from them was cleared.
+         */
+        public StepResult(Pathfinder pathfinder, StepBuffers buffers, int maxSteps, boolean redrawFrontier) {
+            buffers.clear();
+            List<Point> solution = null;
+            boolean exhausted = false;
+            int steps = 0;
+            while (steps < maxSteps && solution == null && !exhausted) {
+                int exploredBefore = buffers.exploredCells.size();
+                pathfinder.step(buffers.exploredCells);
+                steps++;
+                solution = pathfinder.getSolution();
+                // Nothing was explored and nothing is left to explore, so there is no path
+                exhausted = solution == null && buffers.exploredCells.size() == exploredBefore
+                        && pathfinder.isFrontierEmpty();
+            }
+
+            // The frontier changes of every step are taken at once, as the pathfinder keeps them
+            // until they're asked for
+            this.exploredCells = buffers.exploredCells;
+            this.frontierAdded = buffers.frontierAdded;
+            this.frontierRemoved = buffers.frontierRemoved;
+            this.frontierTracked = pathfinder.getFrontierChanges(this.frontierAdded, this.frontierRemoved);
+            this.frontier = this.frontierTracked && !redrawFrontier ? null : pathfinder.getFrontier();
+            this.solution = solution;
+            this.steps = steps;
+            this.exhausted = exhausted;
         }
 
-        int value = grid.get(p.x, p.y);
-        return value == EMPTY || value == TARGET || isWeightedCell(value);
+        /**
+         * Records the outcome of steps that have already been taken.
+         *
+         * @param exploredCells   The cells explored by the steps.
+         * @param frontier        The cells being considered after the steps, or null if the
+         *                        frontier is drawn from its changes.
+         * @param frontierAdded   The cells that joined the frontier, or null if it is drawn whole.
+         * @param frontierRemoved The cells that left the frontier, or null if it is drawn whole.
+         * @param solution        The solution path, or null if one hasn't been found.
+         * @param steps           The number of steps taken.
+         * @param exhausted       Whether the pathfinder ran out of cells to explore without a path.
+         * @since v1.5.24
+         */
+        public StepResult(CellBuffer exploredCells, Collection<Point> frontier, CellBuffer frontierAdded,
+                          CellBuffer frontierRemoved, List<Point> solution, int steps, boolean exhausted) {
+            this.exploredCells = exploredCells;
+            this.frontier = frontier;
+            this.frontierAdded = frontierAdded;
+            this.frontierRemoved = frontierRemoved;
+            this.frontierTracked = frontier == null;
+            this.solution = solution;
+            this.steps = steps;
+            this.exhausted = exhausted;
+        }
     }
 
     /**
-     * Returns the cost to travel to the given cell.
+     * Buffers reused for every step of a pathfinder, so that stepping doesn't allocate them.
      *
-     * @param p The coordinates of the cell to get the travel cost of.
-     * @return The cost to travel to the cell at the given coordinates.
-     * @throws IllegalArgumentException If the given coordinates are not those of a cell in the
-     *                                  grid.
-     * @since v1.3
+     * @since v1.5.26
      */
-    public static int getCost(Point p) {
-        if (grid.isOOB(p.x, p.y)) {
-            throw new IllegalArgumentException("Given coordinates must specify a cell in the grid.");
+    private static class StepBuffers {
+        public final CellBuffer exploredCells;
+        public final CellBuffer frontierAdded;
+        public final CellBuffer frontierRemoved;
+
+        /**
+         * Creates empty buffers.
+         *
+         * @param width The width of the subgrids.
+         */
+        public StepBuffers(int width) {
+            this.exploredCells = new CellBuffer(width);
+            this.frontierAdded = new CellBuffer(width);
+            this.frontierRemoved = new CellBuffer(width);
         }
 
-        int value = grid.get(p.x, p.y);
-        int cost = isWeightedCell(value) ? (value - WEIGHTED + 1) : 1;
-        return cost;
+        /**
+         * Empties every buffer.
+         */
+        public void clear() {
+            this.exploredCells.clear();
+            this.frontierAdded.clear();
+            this.frontierRemoved.clear();
+        }
     }
 
     /**
-     * Holds the data about a loaded algorithm. This consists of whether the algorithm has found a
-     * path, the length of the solution path, its cost, and the number of steps it took to find it.
+     * Edits the terrain with the mouse.
+     *
+     * @since v1.5.23
      */
-    private static class PathfinderData {
-        public boolean done;
-        public int pathLength;
-        public double cost;
-        public int steps;
-
-        public PathfinderData() {
-            this.done = false;
-            this.pathLength = 0;
-            this.cost = 0.0;
-            this.steps = 0;
+    private static class EditListener extends MouseAdapter {
+        @Override
+        public void mousePressed(MouseEvent e) {
+            initialClick = -1;
+            editCell(grid.getCell(e.getPoint()));
         }
 
         @Override
-        public String toString() {
-            return ((int) this.cost) + "/" + this.pathLength + "/" + this.steps;
+        public void mouseDragged(MouseEvent e) {
+            editCell(grid.getCell(e.getPoint()));
         }
     }
 
@@ -0,0 +1,444 @@
+import java.awt.Graphics;
+import java.awt.Point;
+import java.awt.image.BufferedImage;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Command line microbenchmarks of the hot paths of the program: full searches, single steps,
+ * neighbor expansion, cost lookups, and painting the grid. Runs without opening a window.
+ * <p>
+ * Usage: {@code java MicroBenchmark [options]}
+ * <ul>
+ * <li>{@code --presets Maze,Randomized,...} Presets to search, by name. Defaults to Maze and
+ * Randomized.</li>
+ * <li>{@code --size WxH} Size of the searched terrains. Defaults to 301x201.</li>
+ * <li>{@code --seed n} Seed to generate the presets with. Defaults to 0.</li>
+ * <li>{@code --warmup n} Untimed iterations of each benchmark. Defaults to 5.</li>
+ * <li>{@code --iterations n} Timed iterations of each benchmark. Defaults to 5.</li>
+ * <li>{@code --time ms} Time spent in each iteration. Defaults to 100.</li>
+ * <li>{@code --filter text} Only runs the benchmarks whose names contain the text.</li>
+ * </ul>
+ * <p>
+ * Each iteration repeats an operation until the iteration time is used up, and reports the mean
+ * time and allocation per operation. The mean and standard deviation over the timed iterations are
+ * printed for each benchmark. Setting up an operation, such as creating and initializing a
+ * pathfinder before stepping it, is not timed.
+ * <p>
+ * The same cases can be run with JMH from the module in the {@code jmh} directory, which also
+ * reports allocation and GC with {@code -prof gc}.
+ *
+ * @since v1.5.20
+ */
+public class MicroBenchmark {
+    private static int warmup = 5;
+    private static int iterations = 5;
+    private static long iterationNanos = 100_000_000L;
+    private static String filter = "";
+    private static long sink; // Results of the operations, so that they can't be optimized away
+
+    public static void main(String[] args) {
+        System.setProperty("java.awt.headless", "true");
+
+        List<String> presets = Arrays.asList("Maze", "Randomized");
+        int width = 301;
+        int height = 201;
+        int seed = 0;
+        for (int i = 0; i < args.length; i++) {
+            if (i + 1 == args.length) {
+                usage("Missing value for " + args[i]);
+            }
+            String value = args[++i];
+            switch (args[i - 1]) {
+                case "--presets":
+                    presets = Arrays.asList(value.split(","));
+                    break;
+                case "--size":
+                    String[] dimensions = value.split("x");
+                    width = Integer.parseInt(dimensions[0]);
+                    height = Integer.parseInt(dimensions[1]);
+                    break;
+                case "--seed":
+                    seed = Integer.parseInt(value);
+                    break;
+                case "--warmup":
+                    warmup = Integer.parseInt(value);
+                    break;
+                case "--iterations":
+                    iterations = Integer.parseInt(value);
+                    break;
+                case "--time":
+                    iterationNanos = Long.parseLong(value) * 1_000_000L;
+                    break;
+                case "--filter":
+                    filter = value;
+                    break;
+                default:
+                    usage("Unknown option " + args[i - 1]);
+            }
+        }
+        if (iterations <= 0 || iterationNanos <= 0) {
+            usage("Iterations and iteration time must be positive");
+        }
+
+        System.out.printf("%-60s %14s %12s %14s%n", "Benchmark", "ns/op", "stddev", "B/op");
+        for (String preset : presets) {
+            Terrain terrain = Presets.create(preset, width, height, seed);
+            GridGraph graph = terrain.toGraph(0);
+            benchmarkSearches(preset, graph, terrain.getStart(), terrain.getTarget());
+            benchmarkNeighbors(preset, graph);
+            benchmarkCostLookup(preset, terrain);
+        }
+        benchmarkRendering(seed);
+    }
+
+    /**
+     * Benchmarks the full search and single steps of every pathfinder on a terrain.
+     *
+     * @param preset The name of the terrain.
+     * @param graph  The terrain to search.
+     * @param start  The starting point of the path.
+     * @param target The target endpoint of the path.
+     */
+    private static void benchmarkSearches(String preset, GridGraph graph, Point start, Point target) {
+        List<Pathfinder> pathfinders = Main.createPathfinders();
+        for (int index = 0; index < pathfinders.size(); index++) {
+            if (pathfinders.get(index) instanceof None) {
+                continue;
+            }
+            int finalIndex = index;
+            // Every search uses a new pathfinder, so that none reuse data from earlier searches
+            Supplier<Pathfinder> algorithm = () -> Main.createPathfinders().get(finalIndex);
+            String name = pathfinders.get(index).toString();
+
+            LongSupplier search = searchCase(graph, algorithm, start, target);
+            run("search/" + preset + "/" + name, () -> search);
+            run("step/" + preset + "/" + name, stepCase(graph, algorithm, start, target));
+        }
+    }
+
+    /**
+     * Returns an operation that searches a terrain with a new pathfinder, as a batch query does.
+     *
+     * @param graph     The terrain to search.
+     * @param algorithm Creates the pathfinder to search with.
+     * @param start     The starting point of the path.
+     * @param target    The target endpoint of the path.
+     * @return The operation, returning 1 for the search.
+     * @since v1.5.27
+     */
+    static LongSupplier searchCase(GridGraph graph, Supplier<Pathfinder> algorithm, Point start, Point target) {
+        PathQuery query = new PathQuery(algorithm, start, target);
+        return () -> {
+            sink += PathQueryService.run(graph, query).getData().steps;
+            return 1;
+        };
+    }
+
+    /**
+     * Returns a setup that creates and initializes a new pathfinder, and returns an operation that
+     * steps it until it's done, as the window does.
+     *
+     * @param graph     The terrain to search.
+     * @param algorithm Creates the pathfinder to step.
+     * @param start     The starting point of the path.
+     * @param target    The target endpoint of the path.
+     * @return The setup, whose operation returns the number of steps taken.
+     * @since v1.5.27
+     */
+    static Supplier<LongSupplier> stepCase(GridGraph graph, Supplier<Pathfinder> algorithm, Point start,
+                                           Point target) {
+        CellBuffer exploredCells = new CellBuffer(graph.getWidth());
+        return () -> {
+            Pathfinder pathfinder = algorithm.get();
+            pathfinder.initialize(graph, start, target);
+            return () -> {
+                long steps = 0;
+                while (true) {
+                    steps++;
+                    exploredCells.clear();
+                    pathfinder.step(exploredCells);
+                    if (exploredCells.isEmpty() && (pathfinder.getSolution() != null
+                            || pathfinder.getFrontier().isEmpty())) {
+                        return steps;
+                    }
+                }
+            };
+        };
+    }
+
+    /**
+     * Benchmarks looking up whether each neighbor of a cell is open and what it costs to enter, as
+     * pathfinders do when expanding a cell. Times are per neighbor.
+     *
+     * @param preset The name of the terrain.
+     * @param graph  The terrain to expand the cells of.
+     */
+    private static void benchmarkNeighbors(String preset, GridGraph graph) {
+        LongSupplier neighbors = neighborsCase(graph);
+        run("neighbors/" + preset, () -> neighbors);
+    }
+
+    /**
+     * Returns an operation that expands every cell of a terrain.
+     *
+     * @param graph The terrain to expand the cells of.
+     * @return The operation, returning the number of neighbors looked up.
+     * @since v1.5.27
+     */
+    static LongSupplier neighborsCase(GridGraph graph) {
+        int width = graph.getWidth();
+        int height = graph.getHeight();
+        int[] dx = {1, -1, 0, 0};
+        int[] dy = {0, 0, 1, -1};
+        return () -> {
+            long total = 0;
+            for (int y = 0; y < height; y++) {
+                for (int x = 0; x < width; x++) {
+                    for (int i = 0; i < 4; i++) {
+                        int nx = x + dx[i];
+                        int ny = y + dy[i];
+                        if (graph.isOpen(nx, ny)) {
+                            total += graph.getCost(nx, ny);
+                        }
+                    }
+                }
+            }
+            sink += total;
+            return 4L * width * height;
+        };
+    }
+
+    /**
+     * Benchmarks reading the cost of each cell of a grid, the same way {@link Main#getGraph()} does.
+     * Times are per cell.
+     *
+     * @param preset  The name of the terrain.
+     * @param terrain The terrain to copy into the grid.
+     */
+    private static void benchmarkCostLookup(String preset, Terrain terrain) {
+        LongSupplier costLookup = costLookupCase(terrain);
+        run("costOf/" + preset, () -> costLookup);
+    }
+
+    /**
+     * Returns an operation that reads the cost of every cell of a grid holding a terrain.
+     *
+     * @param terrain The terrain to copy into the grid.
+     * @return The operation, returning the number of cells read.
+     * @since v1.5.27
+     */
+    static LongSupplier costLookupCase(Terrain terrain) {
+        int width = terrain.getWidth();
+        int height = terrain.getHeight();
+        SimpleGrid grid = new SimpleGrid(width, height, 1, 0);
+        grid.setAutoRepaint(false);
+        for (int x = 0; x < width; x++) {
+            for (int y = 0; y < height; y++) {
+                grid.set(x, y, terrain.get(x, y));
+            }
+        }
+
+        return () -> {
+            long total = 0;
+            for (int y = 0; y < height; y++) {
+                for (int x = 0; x < width; x++) {
+                    total += Main.costOf(grid.get(x, y));
+                }
+            }
+            sink += total;
+            return (long) width * height;
+        };
+    }
+
+    /**
+     * Benchmarks painting a grid laid out like the one in the window, with a search's explored
+     * cells and solution drawn in every subgrid, with and without the cell costs shown, and with
+     * and without raster mode.
+     *
+     * @param seed The seed to generate the terrain with.
+     */
+    private static void benchmarkRendering(int seed) {
+        SimpleGrid grid = createRenderedGrid(seed);
+        LongSupplier paint = paintCase(grid);
+        run("render/plain", () -> paint);
+        grid.setRasterMode(true);
+        run("render/raster/plain", () -> paint);
+        showCosts(grid);
+        run("render/raster/costs", () -> paint);
+        grid.setRasterMode(false);
+        run("render/costs", () -> paint);
+    }
+
+    /**
+     * Creates a grid laid out like the one in the window, with a search's explored cells and
+     * solution drawn in every subgrid.
+     *
+     * @param seed The seed to generate the terrain with.
+     * @return The grid, without a window.
+     * @since v1.5.27
+     */
+    static SimpleGrid createRenderedGrid(int seed) {
+        int gridWidth = Main.DEFAULT_GRID_WIDTH;
+        int gridHeight = Main.DEFAULT_GRID_HEIGHT;
+        int gridsHorz = Main.DEFAULT_GRIDS_HORZ;
+        int gridsVert = Main.DEFAULT_GRIDS_VERT;
+        int totalWidth = (gridWidth * gridsHorz) + (gridsHorz - 1) * Main.GRID_MARGIN_X + (Main.BORDER_SIZE * 2);
+        int totalHeight = (gridHeight * gridsVert) + (gridsVert - 1) * Main.GRID_MARGIN_Y + (Main.BORDER_SIZE * 2);
+        SimpleGrid grid = new SimpleGrid(totalWidth, totalHeight, Main.DEFAULT_CELL_SIZE, 1);
+        grid.setAutoRepaint(false);
+        Main.setupGrid(grid);
+        grid.fill(Main.BG);
+
+        Terrain terrain = Presets.randomized(gridWidth, gridHeight, seed);
+        Pathfinder pathfinder = new AStar();
+        pathfinder.initialize(terrain.toGraph(0), terrain.getStart(), terrain.getTarget());
+        List<Point> explored = new ArrayList<>();
+        List<Point> stepped;
+        while (!(stepped = pathfinder.step()).isEmpty() || !pathfinder.getFrontier().isEmpty()) {
+            explored.addAll(stepped);
+            if (pathfinder.getSolution() != null) {
+                break;
+            }
+        }
+
+        for (int gridY = 0; gridY < gridsVert; gridY++) {
+            for (int gridX = 0; gridX < gridsHorz; gridX++) {
+                int offsetX = Main.BORDER_SIZE + gridX * (gridWidth + Main.GRID_MARGIN_X);
+                int offsetY = Main.BORDER_SIZE + gridY * (gridHeight + Main.GRID_MARGIN_Y);
+                for (int x = 0; x < gridWidth; x++) {
+                    for (int y = 0; y < gridHeight; y++) {
+                        grid.set(offsetX + x, offsetY + y, terrain.get(x, y));
+                    }
+                }
+                for (Point p : explored) {
+                    grid.set(1, offsetX + p.x, offsetY + p.y, Main.EXPLORED);
+                }
+                if (pathfinder.getSolution() != null) {
+                    for (Point p : pathfinder.getSolution()) {
+                        grid.set(1, offsetX + p.x, offsetY + p.y, Main.SOLUTION);
+                    }
+                }
+            }
+        }
+
+        return grid;
+    }
+
+    /**
+     * Shows the cost of each weighted cell of a grid, as toggling the cell costs in the window does.
+     *
+     * @param grid The grid to show the costs in.
+     * @since v1.5.27
+     */
+    static void showCosts(SimpleGrid grid) {
+        for (int i = 1; i < Main.MAX_COST; i++) {
+            grid.setText(Main.WEIGHTED + i, ("" + i).charAt(0));
+        }
+    }
+
+    /**
+     * Returns an operation that paints a grid into an image.
+     *
+     * @param grid The grid to paint.
+     * @return The operation, returning 1 for the paint.
+     * @since v1.5.27
+     */
+    static LongSupplier paintCase(SimpleGrid grid) {
+        BufferedImage image = new BufferedImage(grid.getPixelSize().width, grid.getPixelSize().height,
+                BufferedImage.TYPE_INT_RGB);
+        return () -> {
+            Graphics g = image.getGraphics();
+            grid.paint(g);
+            g.dispose();
+            sink += image.getRGB(0, 0);
+            return 1;
+        };
+    }
+
+    /**
+     * Runs a benchmark and prints its results, unless it is filtered out.
+     *
+     * @param name      The name of the benchmark.
+     * @param operation Prepares the operation before each time it is run, untimed, then returns it.
+     *                  The operation returns how many times the measured unit of work was done,
+     *                  such as the number of steps taken.
+     */
+    private static void run(String name, Supplier<LongSupplier> operation) {
+        if (!name.contains(filter)) {
+            return;
+        }
+
+        double[] times = new double[iterations];
+        double[] allocations = new double[iterations];
+        for (int iteration = -warmup; iteration < iterations; iteration++) {
+            long operations = 0;
+            long time = 0;
+            long allocated = 0;
+            long iterationStart = System.nanoTime();
+            while (time < iterationNanos && System.nanoTime() - iterationStart < 10 * iterationNanos) {
+                LongSupplier prepared = operation.get();
+                long allocatedBefore = getAllocatedBytes();
+                long startTime = System.nanoTime();
+                operations += prepared.getAsLong();
+                time += System.nanoTime() - startTime;
+                allocated += getAllocatedBytes() - allocatedBefore;
+            }
+            if (iteration >= 0) {
+                times[iteration] = (double) time / operations;
+                allocations[iteration] = (double) allocated / operations;
+            }
+        }
+
+        double allocation = getAllocatedBytes() == -1 ? Double.NaN : mean(allocations);
+        System.out.printf("%-60s %14.1f %12s %14.1f%n", name, mean(times),
+                "+- " + String.format("%.1f", standardDeviation(times)), allocation);
+    }
+
+    private static double mean(double[] values) {
+        double sum = 0;
+        for (double value : values) {
+            sum += value;
+        }
+        return sum / values.length;
+    }
+
+    private static double standardDeviation(double[] values) {
+        if (values.length < 2) {
+            return 0;
+        }
+        double mean = mean(values);
+        double sum = 0;
+        for (double value : values) {
+            sum += (value - mean) * (value - mean);
+        }
+        return Math.sqrt(sum / (values.length - 1));
+    }
+
+    /**
+     * Returns the number of bytes allocated by the current thread so far, if the JVM can measure
+     * it.
+     *
+     * @return The number of bytes allocated by the current thread, or -1 if it can't be measured.
+     */
+    private static long getAllocatedBytes() {
+        if (ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean) {
+            com.sun.management.ThreadMXBean bean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+            if (bean.isThreadAllocatedMemorySupported() && bean.isThreadAllocatedMemoryEnabled()) {
+                return bean.getThreadAllocatedBytes(Thread.currentThread().getId());
+            }
+        }
+        return -1;
+    }
+
+    private static void usage(String message) {
+        System.err.println(message);
+        System.err.println("Usage: java MicroBenchmark [--presets names] [--size WxH] [--seed n] [--warmup n] "
+                + "[--iterations n] [--time ms] [--filter text]");
+        System.exit(1);
+    }
+}
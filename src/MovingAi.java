@@ -0,0 +1,273 @@
+import java.awt.Point;
+import java.io.BufferedInputStream;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Readers for the grid maps and scenarios of the Moving AI Lab pathfinding benchmarks
+ * (https://movingai.com/benchmarks/grids.html).
+ * <p>
+ * A map file has a short header giving its size, followed by one line of characters per row. The
+ * cells '.', 'G' and 'S' are open, and everything else, such as trees, water and out of bounds
+ * cells, is treated as a wall. Maps are read straight into the costs of a {@link GridGraph}, a
+ * chunk of bytes at a time, so even maps that are several megabytes large are read quickly and
+ * without creating an object per cell.
+ * <p>
+ * A scenario file lists searches to run on a map, along with the length of the shortest path of
+ * each one. The benchmarks allow diagonal moves, with a cost of sqrt(2), while the pathfinders
+ * here only move orthogonally, so the reference lengths are a lower bound on the cost of the paths
+ * found here rather than their exact cost.
+ *
+ * @since v1.5.21
+ */
+public class MovingAi {
+    private static final int CHUNK_SIZE = 1 << 16;
+
+    private MovingAi() {
+    }
+
+    /**
+     * Reads a map file.
+     *
+     * @param file The map file to read.
+     * @return A graph of the map, with version 0.
+     * @throws IOException If the file can't be read or is not a valid map.
+     */
+    public static GridGraph readMap(Path file) throws IOException {
+        try (InputStream in = Files.newInputStream(file)) {
+            return readMap(in);
+        }
+    }
+
+    /**
+     * Reads a map from a stream. The stream is not closed.
+     *
+     * @param stream The stream to read the map from.
+     * @return A graph of the map, with version 0.
+     * @throws IOException If the stream can't be read or does not hold a valid map.
+     */
+    public static GridGraph readMap(InputStream stream) throws IOException {
+        InputStream in = new BufferedInputStream(stream, CHUNK_SIZE);
+
+        // Header lines are "key value" pairs, ended by a line reading "map"
+        int width = -1;
+        int height = -1;
+        String line;
+        while (!(line = readLine(in)).equals("map")) {
+            String[] fields = line.split("\\s+");
+            if (fields.length == 2 && fields[0].equals("width")) {
+                width = parseSize(fields[1]);
+            } else if (fields.length == 2 && fields[0].equals("height")) {
+                height = parseSize(fields[1]);
+            }
+        }
+        if (width == -1 || height == -1) {
+            throw new IOException("Map header is missing its width or height.");
+        }
+        if ((long) width * height > Integer.MAX_VALUE) {
+            throw new IOException("Map is too large: " + width + "x" + height);
+        }
+
+        byte[] costs = new byte[width * height];
+        byte[] chunk = new byte[CHUNK_SIZE];
+        int cell = 0;
+        int column = 0;
+        int read;
+        while (cell < costs.length && (read = in.read(chunk)) != -1) {
+            for (int i = 0; i < read && cell < costs.length; i++) {
+                byte c = chunk[i];
+                if (c == '\n' || c == '\r') {
+                    // Blank lines and the second half of "\r\n" are skipped
+                    if (column != 0 && column != width) {
+                        throw new IOException("Map row " + (cell / width) + " is " + column
+                                + " cells wide instead of " + width + ".");
+                    }
+                    column = 0;
+                } else if (column == width) {
+                    throw new IOException("Map row " + (cell / width - 1) + " is wider than " + width + " cells.");
+                } else {
+                    costs[cell++] = (byte) (c == '.' || c == 'G' || c == 'S' ? 1 : 0);
+                    column++;
+                }
+            }
+        }
+        if (cell < costs.length) {
+            throw new IOException("Map ended after " + cell + " of its " + costs.length + " cells.");
+        }
+        return new GridGraph(width, height, costs, 0);
+    }
+
+    /**
+     * Reads the header line of a map. Header lines are short, so they are read a byte at a time.
+     *
+     * @param in The stream to read from.
+     * @return The line, without its line ending or surrounding whitespace.
+     * @throws IOException If the stream ends before the header does.
+     */
+    private static String readLine(InputStream in) throws IOException {
+        StringBuilder line = new StringBuilder();
+        int c;
+        while ((c = in.read()) != '\n') {
+            if (c == -1) {
+                throw new IOException("Map ended before its header did.");
+            }
+            line.append((char) c);
+        }
+        return line.toString().trim();
+    }
+
+    private static int parseSize(String size) throws IOException {
+        try {
+            int value = Integer.parseInt(size);
+            if (value > 0) {
+                return value;
+            }
+        } catch (NumberFormatException e) {
+            // Reported below
+        }
+        throw new IOException("Invalid map size: " + size);
+    }
+
+    /**
+     * Reads a scenario file.
+     *
+     * @param file The scenario file to read.
+     * @return The scenarios in the file, in order.
+     * @throws IOException If the file can't be read or is not a valid scenario file.
+     */
+    public static List<Scenario> readScenarios(Path file) throws IOException {
+        List<Scenario> scenarios = new ArrayList<>();
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            String line;
+            int lineNumber = 0;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                line = line.trim();
+                if (line.isEmpty() || line.startsWith("version")) {
+                    continue;
+                }
+
+                // bucket, map, map width, map height, start x, start y, goal x, goal y, optimal length
+                String[] fields = line.split("\\s+");
+                if (fields.length != 9) {
+                    throw new IOException("Scenario line " + lineNumber + " does not have 9 fields.");
+                }
+                try {
+                    scenarios.add(new Scenario(Integer.parseInt(fields[0]), fields[1],
+                            Integer.parseInt(fields[2]), Integer.parseInt(fields[3]),
+                            new Point(Integer.parseInt(fields[4]), Integer.parseInt(fields[5])),
+                            new Point(Integer.parseInt(fields[6]), Integer.parseInt(fields[7])),
+                            Double.parseDouble(fields[8])));
+                } catch (NumberFormatException e) {
+                    throw new IOException("Scenario line " + lineNumber + " is not valid: " + e.getMessage());
+                }
+            }
+        }
+        return scenarios;
+    }
+
+    /**
+     * A single search from a scenario file.
+     */
+    public static class Scenario {
+        private final int bucket;
+        private final String map;
+        private final int mapWidth;
+        private final int mapHeight;
+        private final Point start;
+        private final Point target;
+        private final double optimalLength;
+
+        /**
+         * Creates a new scenario.
+         *
+         * @param bucket        The group of scenarios of similar length this one belongs to.
+         * @param map           The path of the map file, as given in the scenario file.
+         * @param mapWidth      The width of the map in cells.
+         * @param mapHeight     The height of the map in cells.
+         * @param start         The starting point of the path.
+         * @param target        The target endpoint of the path.
+         * @param optimalLength The length of the shortest path when moving diagonally is allowed.
+         */
+        public Scenario(int bucket, String map, int mapWidth, int mapHeight, Point start, Point target,
+                        double optimalLength) {
+            this.bucket = bucket;
+            this.map = map;
+            this.mapWidth = mapWidth;
+            this.mapHeight = mapHeight;
+            this.start = new Point(start);
+            this.target = new Point(target);
+            this.optimalLength = optimalLength;
+        }
+
+        /**
+         * Returns the group of scenarios of similar length this one belongs to.
+         *
+         * @return The bucket of the scenario.
+         */
+        public int getBucket() {
+            return this.bucket;
+        }
+
+        /**
+         * Returns the path of the map file, as given in the scenario file.
+         *
+         * @return The path of the map file.
+         */
+        public String getMap() {
+            return this.map;
+        }
+
+        /**
+         * Returns the width of the map in cells.
+         *
+         * @return Number of cells wide the map is.
+         */
+        public int getMapWidth() {
+            return this.mapWidth;
+        }
+
+        /**
+         * Returns the height of the map in cells.
+         *
+         * @return Number of cells high the map is.
+         */
+        public int getMapHeight() {
+            return this.mapHeight;
+        }
+
+        /**
+         * Returns the starting point of the path.
+         *
+         * @return The starting point of the path.
+         */
+        public Point getStart() {
+            return new Point(this.start);
+        }
+
+        /**
+         * Returns the target endpoint of the path.
+         *
+         * @return The target endpoint of the path.
+         */
+        public Point getTarget() {
+            return new Point(this.target);
+        }
+
+        /**
+         * Returns the length of the shortest path when moving diagonally is allowed, which is a
+         * lower bound on the cost of any path found by moving orthogonally.
+         *
+         * @return The reference length of the shortest path.
+         */
+        public double getOptimalLength() {
+            return this.optimalLength;
+        }
+    }
+}
@@ -9,7 +9,7 @@ import java.util.Set;
  */
 public class None implements Pathfinder {
     @Override
-    public void initialize(Point start, Point target) {
+    public void initialize(GridGraph graph, Point start, Point target) {
 
     }
 
@@ -18,11 +18,21 @@ public class None implements Pathfinder {
         return new ArrayList<>();
     }
 
+    @Override
+    public void step(CellBuffer exploredCells) {
+
+    }
+
     @Override
     public Set<Point> getFrontier() {
         return new HashSet<>();
     }
 
+    @Override
+    public boolean isFrontierEmpty() {
+        return true;
+    }
+
     @Override
     public List<Point> getSolution() {
         return null;
@@ -0,0 +1,80 @@
+import java.awt.Point;
+import java.time.Duration;
+import java.util.function.Supplier;
+
+/**
+ * A request to find a path between two points with a given algorithm, to be run by a
+ * {@link PathQueryService}.
+ *
+ * @since v1.5.17
+ */
+public class PathQuery {
+    private final Supplier<Pathfinder> algorithm;
+    private final Point start;
+    private final Point target;
+    private final Duration timeout;
+
+    /**
+     * Creates a new query without a time limit.
+     *
+     * @param algorithm Creates the pathfinder to run. A new pathfinder is created for every run, so
+     *                  queries never share search state.
+     * @param start     The starting point of the path.
+     * @param target    The target endpoint of the path.
+     */
+    public PathQuery(Supplier<Pathfinder> algorithm, Point start, Point target) {
+        this(algorithm, start, target, null);
+    }
+
+    /**
+     * Creates a new query.
+     *
+     * @param algorithm Creates the pathfinder to run. A new pathfinder is created for every run, so
+     *                  queries never share search state.
+     * @param start     The starting point of the path.
+     * @param target    The target endpoint of the path.
+     * @param timeout   How long after being submitted the query is abandoned, or null for no limit.
+     */
+    public PathQuery(Supplier<Pathfinder> algorithm, Point start, Point target, Duration timeout) {
+        this.algorithm = algorithm;
+        this.start = new Point(start);
+        this.target = new Point(target);
+        this.timeout = timeout;
+    }
+
+    /**
+     * Creates a new pathfinder to run this query with.
+     *
+     * @return A new pathfinder.
+     */
+    public Pathfinder createPathfinder() {
+        return this.algorithm.get();
+    }
+
+    /**
+     * Returns the starting point of the path.
+     *
+     * @return The starting point of the path.
+     */
+    public Point getStart() {
+        return new Point(this.start);
+    }
+
+    /**
+     * Returns the target endpoint of the path.
+     *
+     * @return The target endpoint of the path.
+     */
+    public Point getTarget() {
+        return new Point(this.target);
+    }
+
+    /**
+     * Returns how long after being submitted the query is abandoned.
+     *
+     * @return The time limit of the query, or null if it has none.
+     */
+    public Duration getTimeout() {
+        return this.timeout;
+    }
+}
@@ -0,0 +1,145 @@
+import java.awt.Point;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Runs path queries against a terrain on a pool of worker threads, without any of the grid being
+ * displayed. Each query gets its own pathfinder, and graphs are immutable, so any number of
+ * queries can run at once.
+ * <p>
+ * Every submitted query returns a future that completes with its result. Cancelling the future, or
+ * letting its query's timeout pass, completes it early and stops the search the next time it
+ * checks in.
+ *
+ * @since v1.5.17
+ */
+public class PathQueryService implements AutoCloseable {
+    /**
+     * Number of steps a search takes between checks of whether it has been abandoned.
+     */
+    private static final int STEPS_PER_CHECK = 256;
+
+    private final ExecutorService executor;
+
+    /**
+     * Creates a new service with a worker thread for each available processor.
+     */
+    public PathQueryService() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Creates a new service.
+     *
+     * @param threads The number of worker threads.
+     */
+    public PathQueryService(int threads) {
+        this.executor = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "path-query-worker");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Submits a query to be run.
+     *
+     * @param graph The terrain to search.
+     * @param query The query to run.
+     * @return A future completed with the result of the query. It completes exceptionally with a
+     * TimeoutException if the query's timeout passes first.
+     */
+    public CompletableFuture<PathResult> submit(GridGraph graph, PathQuery query) {
+        CompletableFuture<PathResult> future = new CompletableFuture<>();
+        this.executor.execute(() -> {
+            // The future may have been cancelled or timed out while the query was waiting
+            if (future.isDone()) {
+                return;
+            }
+            try {
+                PathResult result = run(graph, query, future::isDone);
+                if (result != null) {
+                    future.complete(result);
+                }
+            } catch (RuntimeException | Error e) {
+                future.completeExceptionally(e);
+            }
+        });
+        if (query.getTimeout() != null) {
+            future.orTimeout(query.getTimeout().toNanos(), TimeUnit.NANOSECONDS);
+        }
+        return future;
+    }
+
+    /**
+     * Submits many queries against the same terrain to be run.
+     *
+     * @param graph   The terrain to search.
+     * @param queries The queries to run.
+     * @return A future for each query, in the same order as the queries.
+     */
+    public List<CompletableFuture<PathResult>> submitAll(GridGraph graph, List<PathQuery> queries) {
+        List<CompletableFuture<PathResult>> futures = new ArrayList<>(queries.size());
+        for (PathQuery query : queries) {
+            futures.add(submit(graph, query));
+        }
+        return futures;
+    }
+
+    /**
+     * Runs a query on the calling thread until its pathfinder finds a path or runs out of nodes to
+     * explore.
+     *
+     * @param graph The terrain to search.
+     * @param query The query to run.
+     * @return The result of the query.
+     */
+    public static PathResult run(GridGraph graph, PathQuery query) {
+        return run(graph, query, () -> false);
+    }
+
+    /**
+     * Runs a query on the calling thread until its pathfinder finds a path, runs out of nodes to
+     * explore, or is abandoned.
+     *
+     * @param graph       The terrain to search.
+     * @param query       The query to run.
+     * @param isAbandoned Checked every few steps. The search stops once it returns true.
+     * @return The result of the query, or null if it was abandoned.
+     */
+    private static PathResult run(GridGraph graph, PathQuery query, BooleanSupplier isAbandoned) {
+        long startTime = System.nanoTime();
+        Pathfinder pathfinder = query.createPathfinder();
+        pathfinder.initialize(graph, query.getStart(), query.getTarget());
+
+        PathfinderData data = new PathfinderData();
+        while (true) {
+            // Nothing is drawn, so the explored cells aren't needed
+            List<Point> solution = pathfinder.solve(data, null, STEPS_PER_CHECK);
+            if (solution != null) {
+                data.setSolution(solution, graph);
+                return new PathResult(query, solution, data, System.nanoTime() - startTime);
+            }
+            if (data.done) {
+                return new PathResult(query, null, data, System.nanoTime() - startTime);
+            }
+            if (isAbandoned.getAsBoolean()) {
+                return null;
+            }
+        }
+    }
+
+    /**
+     * Stops accepting queries. Queries already submitted still run unless their futures are
+     * cancelled.
+     */
+    @Override
+    public void close() {
+        this.executor.shutdown();
+    }
+}
@@ -0,0 +1,80 @@
+import java.awt.Point;
+import java.util.List;
+
+/**
+ * The outcome of running a {@link PathQuery}.
+ *
+ * @since v1.5.17
+ */
+public class PathResult {
+    private final PathQuery query;
+    private final List<Point> solution;
+    private final PathfinderData data;
+    private final long time;
+
+    /**
+     * Creates a new result.
+     *
+     * @param query    The query that was run.
+     * @param solution The solution path found, or null if there is no path.
+     * @param data     The cost, length, and number of steps of the run.
+     * @param time     How long the run took, in nanoseconds.
+     */
+    public PathResult(PathQuery query, List<Point> solution, PathfinderData data, long time) {
+        this.query = query;
+        this.solution = solution;
+        this.data = data;
+        this.time = time;
+    }
+
+    /**
+     * Returns the query that was run.
+     *
+     * @return The query that was run.
+     */
+    public PathQuery getQuery() {
+        return this.query;
+    }
+
+    /**
+     * Returns whether a path was found.
+     *
+     * @return True if a path was found, false if the target can't be reached.
+     */
+    public boolean isFound() {
+        return this.solution != null;
+    }
+
+    /**
+     * Returns the solution path found.
+     *
+     * @return The points of the path, ordered from the start to the target, or null if there is no
+     * path.
+     */
+    public List<Point> getSolution() {
+        return this.solution;
+    }
+
+    /**
+     * Returns the cost, length, and number of steps of the run, as shown for the subgrids.
+     *
+     * @return The data of the run.
+     */
+    public PathfinderData getData() {
+        return this.data;
+    }
+
+    /**
+     * Returns how long the run took, from initializing the pathfinder to finishing its search.
+     *
+     * @return The time the run took, in nanoseconds.
+     */
+    public long getTime() {
+        return this.time;
+    }
+
+    @Override
+    public String toString() {
+        return this.query.getStart() + " -> " + this.query.getTarget() + ": " + this.data;
+    }
+}
@@ -8,12 +8,14 @@ import java.util.Set;
 public interface Pathfinder {
     /**
      * Initializes the pathfinder to an initial state ready to pathfind from a starting point to a
-     * target.
+     * target over the given graph. All later steps of the search use this graph.
      *
+     * @param graph  The graph to search.
      * @param start  The starting point of the path that the pathfinder will start at.
      * @param target The target endpoint of the path that the pathfinder will end at.
+     * @since v1.5.9
      */
-    void initialize(Point start, Point target);
+    void initialize(GridGraph graph, Point start, Point target);
 
     /**
      * Advances the pathfinding algorithm a single iteration.
@@ -22,6 +24,24 @@ public interface Pathfinder {
      */
     List<Point> step();
 
+    /**
+     * Advances the pathfinding algorithm a single iteration, adding the cell indices of the nodes
+     * explored to a buffer rather than creating a list of points. Callers that step many times can
+     * clear and reuse one buffer for every step, so that stepping doesn't allocate.
+     * <p>
+     * By default, this adds the points returned by {@link #step()}. Pathfinders should override it
+     * to add the cells directly.
+     *
+     * @param explored The buffer to add the nodes explored during this iteration to. Must have the
+     *                 width of the graph being searched.
+     * @since v1.5.25
+     */
+    default void step(CellBuffer explored) {
+        for (Point p : step()) {
+            explored.add(p.x, p.y);
+        }
+    }
+
     /**
      * Returns all points that make up the solution path.
      *
@@ -38,6 +58,77 @@ public interface Pathfinder {
      */
     Set<Point> getFrontier();
 
+    /**
+     * Returns whether no points are being considered by this pathfinder, without building the
+     * frontier. By default, this checks {@link #getFrontier()}. Pathfinders should override it to
+     * check their open set directly.
+     *
+     * @return True if the frontier is empty, false otherwise.
+     * @since v1.5.27
+     */
+    default boolean isFrontierEmpty() {
+        return getFrontier().isEmpty();
+    }
+
+    /**
+     * Steps the pathfinder until it finds a path or runs out of cells to explore, or until it has
+     * taken the given number of steps. This takes the same steps as calling {@link #step()} in a
+     * loop, but nothing has to be reported between them, so pathfinders can override it to search
+     * in a tight loop.
+     *
+     * @param data     The data of the run so far. The steps taken are added to it, and it is marked
+     *                 done if the search ends. The cost and length of a path found aren't set.
+     * @param explored The buffer to add the cells explored by every step to, or null if they aren't
+     *                 needed.
+     * @param maxSteps The most steps to take before returning.
+     * @return The solution path, or null if one hasn't been found.
+     * @since v1.5.27
+     */
+    default List<Point> solve(PathfinderData data, CellBuffer explored, int maxSteps) {
+        // Without a buffer, each step is only checked for whether it explored anything, so the width
+        // of the cells doesn't matter
+        CellBuffer stepped = explored != null ? explored : new CellBuffer(1);
+        for (int i = 0; i < maxSteps; i++) {
+            if (explored == null) {
+                stepped.clear();
+            }
+            int exploredBefore = stepped.size();
+            step(stepped);
+            data.steps++;
+
+            List<Point> solution = getSolution();
+            if (solution != null) {
+                data.done = true;
+                return solution;
+            }
+            // A step that explores nothing and leaves nothing to explore means there is no path
+            if (stepped.size() == exploredBefore && isFrontierEmpty()) {
+                data.done = true;
+                return null;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Reports the cells that have joined and left the frontier since this was last called, so that
+     * the frontier can be kept up to date without rebuilding it every step. The first call after
+     * the pathfinder is initialized or solved with {@link #solve} reports the whole frontier as
+     * joined. A cell that joined and then left the frontier since the last call is in both buffers,
+     * so the cells that left should be applied after the cells that joined.
+     * <p>
+     * Pathfinders that don't track their frontier changes leave the buffers empty and return
+     * false, in which case {@link #getFrontier()} has to be used instead.
+     *
+     * @param added   The buffer to add the cells that joined the frontier to.
+     * @param removed The buffer to add the cells that left the frontier to.
+     * @return True if the changes were reported, false otherwise.
+     * @since v1.5.26
+     */
+    default boolean getFrontierChanges(CellBuffer added, CellBuffer removed) {
+        return false;
+    }
+
     /**
      * Returns the full name of this algorithm.
      *
@@ -0,0 +1,49 @@
+import java.awt.Point;
+import java.util.List;
+
+/**
+ * Holds the data about a run of a pathfinder. This consists of whether the algorithm has found a
+ * path, the length of the solution path, its cost, and the number of steps it took to find it.
+ */
+public class PathfinderData {
+    public boolean done;
+    public int pathLength;
+    public double cost;
+    public int steps;
+
+    public PathfinderData() {
+        this.done = false;
+        this.pathLength = 0;
+        this.cost = 0.0;
+        this.steps = 0;
+    }
+
+    /**
+     * Marks the run as done and records the length and cost of the solution path found.
+     *
+     * @param solution The solution path, starting at the start point.
+     * @param graph    The graph the path was found in.
+     * @since v1.5.17
+     */
+    public void setSolution(List<Point> solution, GridGraph graph) {
+        // The start point is left out, since the path starts there without having to move onto it.
+        // Solutions are often linked lists, so they are iterated rather than indexed
+        double cost = 0;
+        boolean isStart = true;
+        for (Point p : solution) {
+            if (!isStart) {
+                cost += graph.getCost(p.x, p.y);
+            }
+            isStart = false;
+        }
+
+        this.done = true;
+        this.pathLength = solution.size() - 1;
+        this.cost = cost;
+    }
+
+    @Override
+    public String toString() {
+        return ((int) this.cost) + "/" + this.pathLength + "/" + this.steps;
+    }
+}
@@ -0,0 +1,188 @@
+import java.util.Random;
+
+/**
+ * Generators for the preset terrains that can be loaded from the window, usable without it.
+ *
+ * @since v1.5.19
+ */
+public class Presets {
+    /**
+     * Names of the presets, as shown on their buttons.
+     */
+    public static final String[] NAMES = {"Maze", "Weighted Maze", "Randomized", "Gradient", "Randomized Gradient"};
+
+    private Presets() {
+    }
+
+    /**
+     * Generates a preset by name.
+     *
+     * @param name   The name of the preset, one of NAMES.
+     * @param width  The width of the terrain in cells.
+     * @param height The height of the terrain in cells.
+     * @param seed   The seed for the random number generator, or null for a random seed.
+     * @return The generated terrain.
+     * @throws IllegalArgumentException If there is no preset with the given name.
+     */
+    public static Terrain create(String name, int width, int height, Integer seed) {
+        switch (name) {
+            case "Maze":
+                return maze(width, height, seed);
+            case "Weighted Maze":
+                return weightedMaze(width, height, seed);
+            case "Randomized":
+                return randomized(width, height, seed);
+            case "Gradient":
+                return gradient(width, height);
+            case "Randomized Gradient":
+                return randomizedGradient(width, height, seed);
+            default:
+                throw new IllegalArgumentException("Unknown preset: " + name);
+        }
+    }
+
+    /**
+     * Generates a maze with no cycles, with the start in the top left corner and the target in the
+     * bottom right.
+     *
+     * @param width  The width of the terrain in cells.
+     * @param height The height of the terrain in cells.
+     * @param seed   The seed for the random number generator, or null for a random seed.
+     * @return The generated terrain.
+     */
+    public static Terrain maze(int width, int height, Integer seed) {
+        Terrain terrain = new Terrain(width, height);
+        terrain.fill(Main.WALL);
+        terrain.generateMaze(0, 0, getRandom(seed));
+
+        terrain.setStart(0, 0);
+        terrain.setTarget(width - 1, height - 1);
+        return terrain;
+    }
+
+    /**
+     * Generates a maze with no cycles whose walls are replaced by heavily weighted cells, with the
+     * start in the top left corner and the target in the bottom right.
+     *
+     * @param width  The width of the terrain in cells.
+     * @param height The height of the terrain in cells.
+     * @param seed   The seed for the random number generator, or null for a random seed.
+     * @return The generated terrain.
+     */
+    public static Terrain weightedMaze(int width, int height, Integer seed) {
+        Terrain terrain = new Terrain(width, height);
+        terrain.fill(Main.WALL);
+        terrain.generateMaze(0, 0, getRandom(seed));
+        terrain.randomlyWeightWalls(Main.MAX_COST / 2, getRandom(seed));
+
+        terrain.setStart(0, 0);
+        terrain.setTarget(width - 1, height - 1);
+        return terrain;
+    }
+
+    /**
+     * Generates a terrain where a quarter of the cells are walls, a quarter are empty, and the rest
+     * have random weights, with the start near the top left corner and the target near the bottom
+     * right.
+     *
+     * @param width  The width of the terrain in cells.
+     * @param height The height of the terrain in cells.
+     * @param seed   The seed for the random number generator, or null for a random seed.
+     * @return The generated terrain.
+     */
+    public static Terrain randomized(int width, int height, Integer seed) {
+        Terrain terrain = new Terrain(width, height);
+        Random rand = getRandom(seed);
+
+        for (int x = 0; x < width; x++) {
+            for (int y = 0; y < height; y++) {
+                double r = rand.nextDouble();
+                if (r < 1.0 / 4.0) {
+                    terrain.set(x, y, Main.WALL);
+                } else if (r <= 2.0 / 4.0) {
+                    terrain.set(x, y, Main.EMPTY);
+                } else {
+                    int randomWeight = Main.WEIGHTED + 1 + (int) ((Main.MAX_COST - 1) * rand.nextDouble());
+                    terrain.set(x, y, randomWeight);
+                }
+            }
+        }
+
+        terrain.setStart(1, 1);
+        terrain.setTarget(width - 2, height - 2);
+        return terrain;
+    }
+
+    /**
+     * Generates a terrain whose weights are highest along the vertical center and decrease going
+     * out, with the start and target on opposite sides of the center.
+     *
+     * @param width  The width of the terrain in cells.
+     * @param height The height of the terrain in cells.
+     * @return The generated terrain.
+     */
+    public static Terrain gradient(int width, int height) {
+        Terrain terrain = new Terrain(width, height);
+
+        for (int x = 0; x < width; x++) {
+            for (int y = 0; y < height; y++) {
+                // The weight of the cell. Weight is max in the y-center, decreasing going out
+                int diff = (int) ((1 - ((double) Math.abs(y - height / 2) / (height / 2))) * (Main.MAX_COST - 1));
+                int finalWeight = Main.WEIGHTED + diff;
+                if (diff == 0) {
+                    finalWeight = Main.EMPTY;
+                }
+                terrain.set(x, y, finalWeight);
+            }
+        }
+
+        terrain.setStart(1, height / 2);
+        terrain.setTarget(width - 2, height / 2);
+        return terrain;
+    }
+
+    /**
+     * Generates a terrain like {@link #gradient(int, int)}, but with a random amount taken off of
+     * each cell's weight.
+     *
+     * @param width  The width of the terrain in cells.
+     * @param height The height of the terrain in cells.
+     * @param seed   The seed for the random number generator, or null for a random seed.
+     * @return The generated terrain.
+     */
+    public static Terrain randomizedGradient(int width, int height, Integer seed) {
+        Terrain terrain = new Terrain(width, height);
+        Random rand = getRandom(seed);
+
+        for (int x = 0; x < width; x++) {
+            for (int y = 0; y < height; y++) {
+                // The weight of the cell. Weight is max in the y-center, decreasing going out
+                int diff = (int) ((1 - ((double) Math.abs(y - height / 2) / (height / 2))) * (Main.MAX_COST - 1));
+                int finalWeight = Main.WEIGHTED + (diff - (int) (diff * rand.nextDouble()));
+                if (diff == 0) {
+                    finalWeight = Main.EMPTY;
+                }
+                terrain.set(x, y, finalWeight);
+            }
+        }
+
+        terrain.setStart(1, height / 2);
+        terrain.setTarget(width - 2, height / 2);
+        return terrain;
+    }
+
+    /**
+     * Returns a Random number generator seeded with the given seed if there is one. If there is
+     * none, the generator is seeded with a default random seed of its own choosing.
+     *
+     * @param seed The seed, or null.
+     * @return Random number generator, seeded with the given seed if there is one.
+     */
+    private static Random getRandom(Integer seed) {
+        Random rand = new Random();
+        if (seed != null) {
+            rand.setSeed(seed);
+        }
+        return rand;
+    }
+}
@@ -0,0 +1,205 @@
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Command line benchmark that runs the scenarios of Moving AI Lab benchmark files through the
+ * pathfinders, and prints how well and how quickly each pathfinder solved them.
+ * <p>
+ * Usage: {@code java ScenarioBenchmark [options] file.scen...}
+ * <ul>
+ * <li>{@code --maps dir} Directory to look for map files in. Defaults to the directory of each
+ * scenario file.</li>
+ * <li>{@code --algorithms A*,D* Lite,...} Pathfinders to run, by name. Defaults to all of them.</li>
+ * <li>{@code --limit n} Only runs the first n scenarios of each file.</li>
+ * </ul>
+ * <p>
+ * Paths are checked against the exact cost of the cheapest path, found separately for each
+ * scenario. Since the pathfinders can't move diagonally, the reference lengths in the scenario
+ * files are only used as a lower bound, and the mean ratio of the cost of each path to its
+ * reference length is reported.
+ * <p>
+ * Each pathfinder is created once per map and reused for all of its scenarios, as it would be in
+ * a game, so pathfinders that precompute data about the terrain only pay for it once per map.
+ *
+ * @since v1.5.21
+ */
+public class ScenarioBenchmark {
+    public static void main(String[] args) throws IOException {
+        Path mapDirectory = null;
+        List<String> algorithms = null;
+        int limit = Integer.MAX_VALUE;
+        List<Path> scenarioFiles = new ArrayList<>();
+
+        for (int i = 0; i < args.length; i++) {
+            if (!args[i].startsWith("--")) {
+                scenarioFiles.add(Paths.get(args[i]));
+                continue;
+            }
+            if (i + 1 == args.length) {
+                usage("Missing value for " + args[i]);
+            }
+            String value = args[++i];
+            switch (args[i - 1]) {
+                case "--maps":
+                    mapDirectory = Paths.get(value);
+                    break;
+                case "--algorithms":
+                    algorithms = Arrays.asList(value.split(","));
+                    break;
+                case "--limit":
+                    limit = Integer.parseInt(value);
+                    break;
+                default:
+                    usage("Unknown option " + args[i - 1]);
+            }
+        }
+        if (scenarioFiles.isEmpty()) {
+            usage("No scenario files given");
+        }
+
+        List<Pathfinder> pathfinders = Main.createPathfinders();
+        Map<String, Stats> stats = new LinkedHashMap<>();
+        for (Pathfinder pathfinder : pathfinders) {
+            if (!(pathfinder instanceof None) && (algorithms == null || algorithms.contains(pathfinder.toString()))) {
+                stats.put(pathfinder.toString(), new Stats());
+            }
+        }
+
+        for (Path scenarioFile : scenarioFiles) {
+            List<MovingAi.Scenario> scenarios = MovingAi.readScenarios(scenarioFile);
+            scenarios = scenarios.subList(0, Math.min(limit, scenarios.size()));
+
+            // Scenario files almost always share one map, but they are allowed to mix them
+            Map<String, List<MovingAi.Scenario>> scenariosByMap = new LinkedHashMap<>();
+            for (MovingAi.Scenario scenario : scenarios) {
+                scenariosByMap.computeIfAbsent(scenario.getMap(), map -> new ArrayList<>()).add(scenario);
+            }
+
+            for (Map.Entry<String, List<MovingAi.Scenario>> entry : scenariosByMap.entrySet()) {
+                Path directory = mapDirectory != null ? mapDirectory : scenarioFile.toAbsolutePath().getParent();
+                GridGraph graph = MovingAi.readMap(findMap(directory, entry.getKey()));
+                runScenarios(graph, entry.getValue(), stats);
+            }
+        }
+
+        System.out.printf("%-32s %10s %10s %10s %10s %12s %14s %12s%n", "Algorithm", "Scenarios", "Found",
+                "Optimal", "Invalid", "Cost/Ref", "Time (ms)", "Queries/s");
+        for (Map.Entry<String, Stats> entry : stats.entrySet()) {
+            Stats s = entry.getValue();
+            double timeMillis = s.time / 1e6;
+            System.out.printf("%-32s %10d %10d %10d %10d %12.4f %14.1f %12.1f%n", entry.getKey(), s.scenarios,
+                    s.found, s.optimal, s.invalid, s.found == 0 ? Double.NaN : s.costRatio / s.found, timeMillis,
+                    s.scenarios / (timeMillis / 1000));
+        }
+    }
+
+    /**
+     * Runs the scenarios of a map through every pathfinder being benchmarked.
+     *
+     * @param graph     The map.
+     * @param scenarios The scenarios to run on the map.
+     * @param stats     The totals of each pathfinder being benchmarked, by name, to add to.
+     */
+    private static void runScenarios(GridGraph graph, List<MovingAi.Scenario> scenarios, Map<String, Stats> stats) {
+        // Find the exact cost of each scenario
+        int[] exactCosts = new int[scenarios.size()];
+        for (int i = 0; i < scenarios.size(); i++) {
+            MovingAi.Scenario scenario = scenarios.get(i);
+            if (scenario.getMapWidth() != graph.getWidth() || scenario.getMapHeight() != graph.getHeight()) {
+                throw new IllegalArgumentException("Scenario is for a " + scenario.getMapWidth() + "x"
+                        + scenario.getMapHeight() + " map, but " + scenario.getMap() + " is " + graph.getWidth()
+                        + "x" + graph.getHeight());
+            }
+            int start = graph.indexOf(scenario.getStart().x, scenario.getStart().y);
+            int target = graph.indexOf(scenario.getTarget().x, scenario.getTarget().y);
+            exactCosts[i] = GridDistances.computeFrom(graph, start)[target];
+        }
+
+        List<Pathfinder> pathfinders = Main.createPathfinders();
+        for (Pathfinder pathfinder : pathfinders) {
+            Stats s = stats.get(pathfinder.toString());
+            if (s == null) {
+                continue;
+            }
+            for (int i = 0; i < scenarios.size(); i++) {
+                MovingAi.Scenario scenario = scenarios.get(i);
+                PathResult result = PathQueryService.run(graph,
+                        new PathQuery(() -> pathfinder, scenario.getStart(), scenario.getTarget()));
+                s.add(result, exactCosts[i], scenario.getOptimalLength());
+            }
+        }
+    }
+
+    /**
+     * Finds the file of a map named in a scenario file. Scenario files often give the path the map
+     * had when they were made, so if there is no file at that path, the map is looked for by its
+     * file name alone.
+     *
+     * @param directory The directory to look for the map in.
+     * @param map       The path of the map, as given in the scenario file.
+     * @return The path of the map file.
+     * @throws IOException If the map file can't be found.
+     */
+    private static Path findMap(Path directory, String map) throws IOException {
+        Path path = directory.resolve(map);
+        if (!Files.isRegularFile(path)) {
+            path = directory.resolve(Paths.get(map).getFileName());
+        }
+        if (!Files.isRegularFile(path)) {
+            throw new IOException("Can't find map " + map + " in " + directory);
+        }
+        return path;
+    }
+
+    private static void usage(String message) {
+        System.err.println(message);
+        System.err.println("Usage: java ScenarioBenchmark [--maps dir] [--algorithms names] [--limit n] file.scen...");
+        System.exit(1);
+    }
+
+    /**
+     * Totals of the scenarios run by one pathfinder.
+     */
+    private static class Stats {
+        public int scenarios;
+        public int found;
+        public int optimal; // Paths as cheap as the cheapest path
+        public int invalid; // Paths cheaper than possible, or missed or found when they shouldn't be
+        public double costRatio; // Sum of the ratios of the cost of each path to its reference length
+        public long time;
+
+        /**
+         * Adds the result of a scenario.
+         *
+         * @param result          The result of the scenario.
+         * @param exactCost       The cost of the cheapest path, or UNREACHABLE if there is none.
+         * @param referenceLength The reference length of the scenario.
+         */
+        public void add(PathResult result, int exactCost, double referenceLength) {
+            this.scenarios++;
+            this.time += result.getTime();
+            if (!result.isFound()) {
+                if (exactCost != GridDistances.UNREACHABLE) {
+                    this.invalid++;
+                }
+                return;
+            }
+
+            this.found++;
+            double cost = result.getData().cost;
+            if (exactCost == GridDistances.UNREACHABLE || cost < exactCost || cost < referenceLength - 1e-3) {
+                this.invalid++;
+            } else if (cost == exactCost) {
+                this.optimal++;
+            }
+            this.costRatio += referenceLength == 0 ? 1 : cost / referenceLength;
+        }
+    }
+}
@@ -1,17 +1,23 @@
 import javax.swing.JFrame;
 import javax.swing.JPanel;
+import javax.swing.JScrollPane;
 import javax.swing.WindowConstants;
 import java.awt.Color;
 import java.awt.Dimension;
 import java.awt.Font;
 import java.awt.FontMetrics;
 import java.awt.Graphics;
+import java.awt.Graphics2D;
 import java.awt.Point;
+import java.awt.Rectangle;
+import java.awt.Toolkit;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
 import java.awt.event.MouseAdapter;
 import java.awt.event.MouseEvent;
-import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
 import java.util.HashMap;
-import java.util.List;
 import java.util.Map;
 
 /**
@@ -46,20 +52,29 @@ import java.util.Map;
  * containing the corresponding value.
  *
  * @author Jake Chiang
- * @version 1.2.9
+ * @version 1.2.15
  */
 public class SimpleGrid {
+    private static final int PALETTE_LIMIT = 1 << 16; // Values below this have their data kept in an array
+    private static final ValueData UNMAPPED = new ValueData(); // Data of values that have none mapped
+
     private GridPanel panel;
     private JFrame frame;
-    private List<int[][]> grids;
-    private Map<Integer, ValueData> valueData;
+    private int[][] layers; // The values of the cells of each layer, row by row
+    private ValueData[] palette; // Data mapped to values from 0 up to the length of the array
+    private Map<Integer, ValueData> valueData; // Data mapped to negative values and values past PALETTE_LIMIT
     private volatile boolean mouseDown;
     private boolean autoRepaint;
+    private BufferedImage raster; // One pixel per cell, colored as the cell is drawn, in raster mode
+    private int[] rasterPixels;
+    private BitSet textCells; // Cells that show text, in raster mode
+    private volatile boolean rasterStale; // Whether every pixel of the raster must be redrawn
 
     /**
      * Create a new window containing a blank grid. The window will be
      * automatically sized to fit the grid and will be positioned in the center
-     * of the screen.
+     * of the screen. Grids too large to fit on the screen are shown in a
+     * scrollable view instead.
      * <p>
      * By default, all cells will have a value of 0 and the gridlines will be
      * colored black. By default, 0 will also be mapped to have no text, black
@@ -75,30 +90,65 @@ public class SimpleGrid {
      * @param name           The window's name.
      */
     public SimpleGrid(int width, int height, int cellSize, int gridlineWeight, String name) {
+        this(width, height, cellSize, gridlineWeight);
+        this.frame = new JFrame(name);
+
+        this.frame.setDefaultCloseOperation(WindowConstants.EXIT_ON_CLOSE);
+        Dimension size = this.panel.getPreferredSize();
+        Dimension screen = Toolkit.getDefaultToolkit().getScreenSize();
+        // Leave room for the window decorations and anything added around the grid
+        int maxWidth = screen.width * 3 / 4;
+        int maxHeight = screen.height * 3 / 4;
+        if (size.width > maxWidth || size.height > maxHeight) {
+            JScrollPane scrollPane = new JScrollPane(this.panel);
+            scrollPane.setPreferredSize(new Dimension(Math.min(size.width, maxWidth), Math.min(size.height, maxHeight)));
+            this.frame.add(scrollPane);
+        } else {
+            this.frame.add(this.panel);
+        }
+        this.frame.setVisible(true);
+        this.frame.setResizable(false);
+        this.frame.pack();
+        this.frame.setLocationRelativeTo(null); // Center the frame
+
+        this.panel.addMouseListener(new MouseListener());
+    }
+
+    /**
+     * Create a new blank grid that is not shown in a window. It can still be
+     * painted with {@link #paint(Graphics)}, such as onto an image, and works
+     * in headless environments.
+     * <p>
+     * The defaults are the same as those of a grid created in a window. The
+     * grid has no frame, so {@link #getFrame()} returns null.
+     *
+     * @param width          The width of the grid in cells.
+     * @param height         The height of the grid in cells.
+     * @param cellSize       The size of each cell in pixels.
+     * @param gridlineWeight The width of the gridlines in pixels.
+     * @since 1.2.10
+     */
+    public SimpleGrid(int width, int height, int cellSize, int gridlineWeight) {
         if (width <= 0 || height <= 0 || cellSize <= 0) {
             throw new IllegalArgumentException("Grid dimensions and cell sizes must be positive.");
         }
+        if ((long) width * height > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Grid must have at most " + Integer.MAX_VALUE + " cells.");
+        }
         this.panel = new GridPanel(width, height, cellSize, gridlineWeight);
-        this.frame = new JFrame(name);
-        this.grids = new ArrayList<>();
+        this.frame = null;
+        this.layers = new int[0][];
         addLayer(); // Create default grid layer
+        this.palette = new ValueData[]{new ValueData(null, ValueData.DEFAULT_TEXT_COLOR, '\0')};
         this.valueData = new HashMap<>();
-        this.valueData.put(0, new ValueData(null, ValueData.DEFAULT_TEXT_COLOR, '\0'));
         this.mouseDown = false;
         this.autoRepaint = true;
 
-        this.frame.setDefaultCloseOperation(WindowConstants.EXIT_ON_CLOSE);
-        this.frame.add(this.panel);
-        this.frame.setVisible(true);
-        this.frame.setResizable(false);
         int totalWidth = width * (cellSize + gridlineWeight) + gridlineWeight;
         int totalHeight = height * (cellSize + gridlineWeight) + gridlineWeight;
         Dimension size = new Dimension(totalWidth, totalHeight);
         this.panel.setPreferredSize(size);
-        this.frame.pack();
-        this.frame.setLocationRelativeTo(null); // Center the frame
-
-        this.frame.addMouseListener(new MouseListener());
+        this.panel.setSize(size);
     }
 
     /**
@@ -131,6 +181,28 @@ public class SimpleGrid {
         return this.frame;
     }
 
+    /**
+     * Returns the size of the whole grid in pixels, including gridlines.
+     *
+     * @return The width and height of the painted grid in pixels.
+     * @since 1.2.10
+     */
+    public Dimension getPixelSize() {
+        return this.panel.getPreferredSize();
+    }
+
+    /**
+     * Paints the whole grid with the given graphics object, exactly as it is
+     * painted in its window. The top left corner of the grid is painted at the
+     * origin of the graphics object.
+     *
+     * @param g The graphics object to paint the grid with.
+     * @since 1.2.10
+     */
+    public void paint(Graphics g) {
+        this.panel.paintComponent(g);
+    }
+
     /**
      * Returns whether the given coordinates are out-of-bounds of the grid.
      *
@@ -170,6 +242,35 @@ public class SimpleGrid {
         return this.panel.getMouseCell();
     }
 
+    /**
+     * Returns the grid position of a point on the grid, such as the point of
+     * a mouse event.
+     *
+     * @param pos The pixel coordinates of the point, relative to the top left
+     *            corner of the grid.
+     * @return The xy-coordinates of the cell the point is in. If the point is
+     * out-of-bounds or on gridlines, returns null instead.
+     * @since 1.2.15
+     */
+    public Point getCell(Point pos) {
+        return this.panel.getCell(pos);
+    }
+
+    /**
+     * Registers a listener to be notified of the mouse being pressed,
+     * released, moved, and dragged over the grid. The listener is notified on
+     * the event dispatch thread, with event coordinates in pixels relative to
+     * the top left corner of the grid, which can be turned into cells with
+     * {@link #getCell(Point)}.
+     *
+     * @param listener The listener to notify.
+     * @since 1.2.15
+     */
+    public void addMouseListener(MouseAdapter listener) {
+        this.panel.addMouseListener(listener);
+        this.panel.addMouseMotionListener(listener);
+    }
+
     /**
      * Returns whether the mouse is currently down.
      *
@@ -186,7 +287,10 @@ public class SimpleGrid {
      * @since v1.1
      */
     public void addLayer() {
-        this.grids.add(new int[getHeight()][getWidth()]);
+        int[][] layers = Arrays.copyOf(this.layers, this.layers.length + 1);
+        layers[layers.length - 1] = new int[getWidth() * getHeight()];
+        this.layers = layers;
+        this.rasterStale = true;
     }
 
     /**
@@ -202,6 +306,80 @@ public class SimpleGrid {
         this.autoRepaint = autoRepaint;
     }
 
+    /**
+     * Sets whether the grid is drawn from an image holding the color of every
+     * cell. By default, raster mode is disabled.
+     * <p>
+     * In raster mode, setting a cell updates the cell's pixel in the image,
+     * and painting draws the image scaled up to the size of the cells, along
+     * with the gridlines and any text. Painting then takes about as long no
+     * matter how many cells are visible, which keeps large grids responsive,
+     * at the cost of one more int of memory per cell. The grid looks the same
+     * in either mode.
+     *
+     * @param rasterMode Whether to draw the grid from an image.
+     * @since 1.2.12
+     */
+    public void setRasterMode(boolean rasterMode) {
+        if (rasterMode && this.raster == null) {
+            this.raster = new BufferedImage(getWidth(), getHeight(), BufferedImage.TYPE_INT_RGB);
+            this.rasterPixels = ((DataBufferInt) this.raster.getRaster().getDataBuffer()).getData();
+            this.textCells = new BitSet(getWidth() * getHeight());
+            this.rasterStale = true;
+        } else if (!rasterMode) {
+            this.raster = null;
+            this.rasterPixels = null;
+            this.textCells = null;
+        }
+        tryRepaint();
+    }
+
+    /**
+     * Returns whether the grid is drawn from an image holding the color of
+     * every cell.
+     *
+     * @return True if raster mode is enabled, false otherwise.
+     * @see SimpleGrid#setRasterMode(boolean)
+     * @since 1.2.12
+     */
+    public boolean isRasterMode() {
+        return this.raster != null;
+    }
+
+    /**
+     * Redraws the pixel of a cell in raster mode.
+     *
+     * @param x The x-coordinate of the cell.
+     * @param y The y-coordinate of the cell.
+     * @since 1.2.12
+     */
+    private void updateRaster(int x, int y) {
+        int[] pixels = this.rasterPixels;
+        if (pixels == null) {
+            return;
+        }
+        int index = y * getWidth() + x;
+        pixels[index] = this.panel.getTopColor(x, y).getRGB();
+        this.textCells.set(index, this.panel.getTopText(x, y) != null);
+    }
+
+    /**
+     * Redraws every pixel of the raster, if it is out of date.
+     *
+     * @since 1.2.12
+     */
+    private void refreshRaster() {
+        if (!this.rasterStale || this.rasterPixels == null) {
+            return;
+        }
+        this.rasterStale = false;
+        for (int y = 0; y < getHeight(); y++) {
+            for (int x = 0; x < getWidth(); x++) {
+                updateRaster(x, y);
+            }
+        }
+    }
+
     /**
      * Repaints the grid if auto repainting is enabled.
      *
@@ -306,14 +484,14 @@ public class SimpleGrid {
      * @since v1.1
      */
     public void set(int layer, int x, int y, int value) {
-        if (layer < 0 || layer > this.grids.size() - 1) {
+        if (layer < 0 || layer >= this.layers.length) {
             return;
         }
         if (isOOB(x, y)) {
             throw new GridIndexOutOfBoundsException("Grid coordinates must be in bounds.");
         }
-        this.grids.get(layer)[y][x] = value;
-        ensureValueData(value);
+        this.layers[layer][y * this.panel.width + x] = value;
+        updateRaster(x, y);
 
         // Only repaint this cell. Slightly faster than repainting everything with repaint()
         int cellX = x * (this.panel.cellSize + this.panel.gridlineWeight) + this.panel.gridlineWeight;
@@ -345,14 +523,11 @@ public class SimpleGrid {
      * @since 1.2.3
      */
     public void fill(int layer, int value) {
-        if (layer < 0 || layer > this.grids.size() - 1) {
+        if (layer < 0 || layer >= this.layers.length) {
             return;
         }
-        for (int x = 0; x < this.panel.width; x++) {
-            for (int y = 0; y < this.panel.height; y++) {
-                this.grids.get(layer)[y][x] = value;
-            }
-        }
+        Arrays.fill(this.layers[layer], value);
+        this.rasterStale = true;
         tryRepaint();
     }
 
@@ -381,16 +556,16 @@ public class SimpleGrid {
      * @since v1.2.5
      */
     public void replace(int layer, int currentValue, int newValue) {
-        if (layer < 0 || layer > this.grids.size() - 1) {
+        if (layer < 0 || layer >= this.layers.length) {
             return;
         }
-        for (int x = 0; x < this.panel.width; x++) {
-            for (int y = 0; y < this.panel.height; y++) {
-                if (this.grids.get(layer)[y][x] == currentValue) {
-                    this.grids.get(layer)[y][x] = newValue;
-                }
+        int[] cells = this.layers[layer];
+        for (int i = 0; i < cells.length; i++) {
+            if (cells[i] == currentValue) {
+                cells[i] = newValue;
             }
         }
+        this.rasterStale = true;
         tryRepaint();
     }
 
@@ -422,11 +597,13 @@ public class SimpleGrid {
      * @since 1.2.4
      */
     public void fillRow(int layer, int row, int value) {
-        if (row < 0 || row >= this.panel.height || layer < 0 || layer > this.grids.size() - 1) {
+        if (row < 0 || row >= this.panel.height || layer < 0 || layer >= this.layers.length) {
             return;
         }
+        int rowStart = row * this.panel.width;
+        Arrays.fill(this.layers[layer], rowStart, rowStart + this.panel.width, value);
         for (int x = 0; x < this.panel.width; x++) {
-            this.grids.get(layer)[row][x] = value;
+            updateRaster(x, row);
         }
     }
 
@@ -458,11 +635,15 @@ public class SimpleGrid {
      * @since 1.2.4
      */
     public void fillColumn(int layer, int column, int value) {
-        if (column < 0 || column >= this.panel.width || layer < 0 || layer > this.grids.size() - 1) {
+        if (column < 0 || column >= this.panel.width || layer < 0 || layer >= this.layers.length) {
             return;
         }
+        int[] cells = this.layers[layer];
+        for (int i = column; i < cells.length; i += this.panel.width) {
+            cells[i] = value;
+        }
         for (int y = 0; y < this.panel.height; y++) {
-            this.grids.get(layer)[y][column] = value;
+            updateRaster(column, y);
         }
     }
 
@@ -532,13 +713,13 @@ public class SimpleGrid {
      * @since v1.1
      */
     public int get(int layer, int x, int y) {
-        if (layer < 0 || layer > this.grids.size() - 1) {
+        if (layer < 0 || layer >= this.layers.length) {
             throw new IllegalArgumentException("Must specify a valid layer.");
         }
         if (isOOB(x, y)) {
             throw new GridIndexOutOfBoundsException("Grid coordinates must be in bounds.");
         }
-        return this.grids.get(layer)[y][x];
+        return this.layers[layer][y * this.panel.width + x];
     }
 
     /**
@@ -550,6 +731,7 @@ public class SimpleGrid {
      */
     public void setGridlineColor(Color color) {
         this.panel.setBackground(color);
+        this.panel.glyphs.clear();
         tryRepaint();
     }
 
@@ -559,12 +741,41 @@ public class SimpleGrid {
      *
      * @param value The value to check for existing mapped data and to map
      *              default data to if it has no mappings.
+     * @return The data mapped to the value.
      * @since v1.2
      */
-    private void ensureValueData(int value) {
-        if (!this.valueData.containsKey(value)) {
-            this.valueData.put(value, new ValueData());
+    private ValueData ensureValueData(int value) {
+        if (value < 0 || value >= PALETTE_LIMIT) {
+            return this.valueData.computeIfAbsent(value, v -> new ValueData());
+        }
+        if (value >= this.palette.length) {
+            int length = Math.min(PALETTE_LIMIT, Math.max(value + 1, this.palette.length * 2));
+            this.palette = Arrays.copyOf(this.palette, length);
+        }
+        if (this.palette[value] == null) {
+            this.palette[value] = new ValueData();
+        }
+        return this.palette[value];
+    }
+
+    /**
+     * Returns the data mapped to a value. Values without any data mapped
+     * share the default data, which must not be changed.
+     *
+     * @param value The value to get the data of.
+     * @return The data mapped to the value.
+     * @since 1.2.14
+     */
+    private ValueData getValueData(int value) {
+        ValueData data;
+        if (value >= 0 && value < this.palette.length) {
+            data = this.palette[value];
+        } else if (value >= 0 && value < PALETTE_LIMIT) {
+            data = null;
+        } else {
+            data = this.valueData.get(value);
         }
+        return data != null ? data : UNMAPPED;
     }
 
     /**
@@ -578,8 +789,8 @@ public class SimpleGrid {
      * @see SimpleGrid#setAutoRepaint(boolean)
      */
     public void setColor(int value, Color color) {
-        ensureValueData(value);
-        this.valueData.get(value).color = color;
+        ensureValueData(value).color = color;
+        this.rasterStale = true;
         tryRepaint();
     }
 
@@ -597,8 +808,8 @@ public class SimpleGrid {
         if (textColor == null) {
             throw new NullPointerException("Text color cannot be null.");
         }
-        ensureValueData(value);
-        this.valueData.get(value).textColor = textColor;
+        ensureValueData(value).textColor = textColor;
+        this.rasterStale = true;
         tryRepaint();
     }
 
@@ -613,8 +824,8 @@ public class SimpleGrid {
      * @since v1.2
      */
     public void setText(int value, char text) {
-        ensureValueData(value);
-        this.valueData.get(value).text = text;
+        ensureValueData(value).text = text;
+        this.rasterStale = true;
         tryRepaint();
     }
 
@@ -688,6 +899,8 @@ public class SimpleGrid {
         private int cellSize;
         private int gridlineWeight;
         private Font font;
+        private Map<ValueData, BufferedImage> glyphs; // Drawn text cells, by character and colors
+        private final ValueData glyphKey = new ValueData(); // Reused to look up glyphs without allocating
 
         /**
          * Creates a new blank grid.
@@ -707,12 +920,15 @@ public class SimpleGrid {
             this.cellSize = cellSize;
             this.gridlineWeight = gridlineWeight;
             this.font = null;
+            this.glyphs = new HashMap<>();
             setBackground(Color.BLACK);
         }
 
         /**
-         * Paints the entire grid. The grid cells are colored and filled
-         * according to the colors and text assigned to their current values.
+         * Paints the grid. The grid cells are colored and filled according to
+         * the colors and text assigned to their current values. Only the cells
+         * inside the clip bounds of the graphics object are painted, so
+         * repainting a small area of a large grid is cheap.
          * <p>
          * If a cell color is "null" then only the cell's text will be drawn,
          * unless the cell is on layer 0, in which case the cell will be painted
@@ -735,44 +951,146 @@ public class SimpleGrid {
                 setupFont(g);
             }
 
-            // Paint all cells
-            for (int x = 0; x < this.width; x++) {
-                for (int y = 0; y < this.height; y++) {
-                    // Begin with colors/text being those of the layer 0 cells
-                    ValueData defaultLayer = SimpleGrid.this.valueData.get(SimpleGrid.this.grids.get(0)[y][x]);
-                    Color topColor = defaultLayer.color == null ? Color.WHITE : defaultLayer.color;
-                    char topText = defaultLayer.text;
-                    Color topTextColor = defaultLayer.textColor;
-
-                    // Find the topmost colors/text that should be drawn
-                    for (int i = 1; i < SimpleGrid.this.grids.size(); i++) {
-                        int value = SimpleGrid.this.grids.get(i)[y][x];
-                        ValueData data = SimpleGrid.this.valueData.get(value);
-
-                        if (data.color != null) {
-                            topColor = data.color;
-                            topText = '\0'; // Clear text if a non-null color is above it
-                        }
-                        if (data.text != '\0') {
-                            topText = data.text;
-                            topTextColor = data.textColor;
-                        }
+            // Find the cells that overlap the area being painted
+            int spacing = this.cellSize + this.gridlineWeight;
+            int minX = 0;
+            int minY = 0;
+            int maxX = this.width - 1;
+            int maxY = this.height - 1;
+            Rectangle clip = g.getClipBounds();
+            if (clip != null) {
+                minX = Math.max(minX, (clip.x - this.gridlineWeight) / spacing);
+                minY = Math.max(minY, (clip.y - this.gridlineWeight) / spacing);
+                maxX = Math.min(maxX, (clip.x + clip.width - 1) / spacing);
+                maxY = Math.min(maxY, (clip.y + clip.height - 1) / spacing);
+            }
+
+            if (SimpleGrid.this.rasterPixels != null) {
+                paintRaster(g, minX, minY, maxX, maxY);
+                return;
+            }
+
+            // Paint the cells row by row, in the order they are stored
+            for (int y = minY; y <= maxY; y++) {
+                for (int x = minX; x <= maxX; x++) {
+                    Color color = getTopColor(x, y);
+
+                    // Cells with text are painted along with their text
+                    ValueData text = getTopText(x, y);
+                    if (text != null) {
+                        drawCenteredChar(g, x, y, text.text, text.textColor, color);
+                        continue;
                     }
-                    g.setColor(topColor);
 
                     // Paint cell
-                    int cellX = x * (this.cellSize + this.gridlineWeight) + this.gridlineWeight;
-                    int cellY = y * (this.cellSize + this.gridlineWeight) + this.gridlineWeight;
+                    g.setColor(color);
+                    int cellX = x * spacing + this.gridlineWeight;
+                    int cellY = y * spacing + this.gridlineWeight;
                     g.fillRect(cellX, cellY, this.cellSize, this.cellSize);
+                }
+            }
+        }
 
-                    // Draw text
-                    if (topText != '\0') {
-                        drawCenteredChar(g, x, y, topText, topTextColor);
+        /**
+         * Paints the given cells from the raster, by scaling up the pixels of
+         * the cells and then drawing the gridlines and text over them.
+         *
+         * @param g    The graphics object that the grid will be painted with.
+         * @param minX The x-coordinate of the leftmost cell to paint.
+         * @param minY The y-coordinate of the topmost cell to paint.
+         * @param maxX The x-coordinate of the rightmost cell to paint.
+         * @param maxY The y-coordinate of the bottommost cell to paint.
+         * @since 1.2.12
+         */
+        private void paintRaster(Graphics g, int minX, int minY, int maxX, int maxY) {
+            refreshRaster();
+            if (minX > maxX || minY > maxY) {
+                return;
+            }
+
+            // Each pixel covers a cell and the gridlines to its top and left,
+            // which are then drawn over it
+            int spacing = this.cellSize + this.gridlineWeight;
+            g.drawImage(SimpleGrid.this.raster, minX * spacing, minY * spacing, (maxX + 1) * spacing,
+                    (maxY + 1) * spacing, minX, minY, maxX + 1, maxY + 1, null);
+            if (this.gridlineWeight > 0) {
+                g.setColor(getBackground());
+                int top = minY * spacing;
+                int left = minX * spacing;
+                int bottom = (maxY + 1) * spacing + this.gridlineWeight;
+                int right = (maxX + 1) * spacing + this.gridlineWeight;
+                for (int x = minX; x <= maxX + 1; x++) {
+                    g.fillRect(x * spacing, top, this.gridlineWeight, bottom - top);
+                }
+                for (int y = minY; y <= maxY + 1; y++) {
+                    g.fillRect(left, y * spacing, right - left, this.gridlineWeight);
+                }
+            }
+
+            // Only the cells known to have text are visited
+            BitSet textCells = SimpleGrid.this.textCells;
+            for (int y = minY; y <= maxY; y++) {
+                int rowStart = y * this.width;
+                int index = textCells.nextSetBit(rowStart + minX);
+                while (index != -1 && index <= rowStart + maxX) {
+                    ValueData text = getTopText(index - rowStart, y);
+                    if (text != null) {
+                        drawCenteredChar(g, index - rowStart, y, text.text, text.textColor,
+                                getTopColor(index - rowStart, y));
                     }
+                    index = textCells.nextSetBit(index + 1);
                 }
             }
         }
 
+        /**
+         * Returns the color a cell is painted, which is the topmost non-null
+         * color of its values. If every value has a null color, the cell is
+         * white.
+         *
+         * @param x The x-coordinate of the cell.
+         * @param y The y-coordinate of the cell.
+         * @return The color of the cell.
+         * @since 1.2.12
+         */
+        private Color getTopColor(int x, int y) {
+            int[][] layers = SimpleGrid.this.layers;
+            int index = y * this.width + x;
+            for (int i = layers.length - 1; i >= 0; i--) {
+                Color color = getValueData(layers[i][index]).color;
+                if (color != null) {
+                    return color;
+                }
+            }
+            return Color.WHITE;
+        }
+
+        /**
+         * Returns the data of the value whose text is drawn in a cell. That is
+         * the topmost value with text, unless a value with a non-null color is
+         * above it.
+         *
+         * @param x The x-coordinate of the cell.
+         * @param y The y-coordinate of the cell.
+         * @return The data of the value whose text is drawn, or null if no text
+         * is drawn in the cell.
+         * @since 1.2.12
+         */
+        private ValueData getTopText(int x, int y) {
+            int[][] layers = SimpleGrid.this.layers;
+            int index = y * this.width + x;
+            for (int i = layers.length - 1; i >= 0; i--) {
+                ValueData data = getValueData(layers[i][index]);
+                if (data.text != '\0') {
+                    return data;
+                }
+                if (data.color != null && i > 0) {
+                    return null;
+                }
+            }
+            return null;
+        }
+
         /**
          * Creates a Monospaced, bold font with a size such that one character
          * will fit inside of one cell.
@@ -792,27 +1110,65 @@ public class SimpleGrid {
         }
 
         /**
-         * Draws a character in the center of a cell.
+         * Paints a cell with a character in its center. Each combination of
+         * character and colors is drawn once into an image the size of a cell,
+         * which is then copied into every cell showing it. Characters are
+         * clipped to the bounds of their cell.
          *
          * @param g         The graphics object that the character will be drawn
          *                  with.
          * @param x         The x-coordinate of the cell to draw in.
-         * @param y         The y-coordinate of the cell to drawn in.
-         * @param c         The character to draw in the cell.
-         * @param textColor The color of the character to draw.
+         * @param y         The y-coordinate of the cell to draw in.
+         * @param c         The character to draw.
+         * @param textColor The color of the character.
+         * @param color     The color of the cell behind the character.
          * @since v1.2
          */
-        public void drawCenteredChar(Graphics g, int x, int y, char c, Color textColor) {
-            g.setColor(textColor);
-            g.setFont(this.font);
-
+        public void drawCenteredChar(Graphics g, int x, int y, char c, Color textColor, Color color) {
             int xCoord = x * (this.cellSize + this.gridlineWeight) + this.gridlineWeight;
             int yCoord = y * (this.cellSize + this.gridlineWeight) + this.gridlineWeight;
-            FontMetrics metrics = g.getFontMetrics(this.font);
-            int xPos = xCoord + (this.cellSize - metrics.stringWidth("" + c)) / 2;
-            int yPos = yCoord + ((this.cellSize - metrics.getHeight()) / 2) + metrics.getAscent();
+            g.drawImage(getGlyph(c, textColor, color), xCoord, yCoord, null);
+        }
 
-            g.drawString("" + c, xPos, yPos);
+        /**
+         * Returns the image of a cell with a character centered in it, drawing
+         * it if it hasn't been drawn yet. The image is opaque, so it can be
+         * copied straight into the grid without blending.
+         *
+         * @param c         The character.
+         * @param textColor The color of the character.
+         * @param color     The color of the cell behind the character.
+         * @return An image the size of a cell.
+         * @since v1.5.22
+         */
+        private BufferedImage getGlyph(char c, Color textColor, Color color) {
+            // Only the key of a new glyph is kept by the map, so the lookup key can be reused
+            ValueData key = this.glyphKey;
+            key.color = color;
+            key.textColor = textColor;
+            key.text = c;
+            BufferedImage glyph = this.glyphs.get(key);
+            if (glyph == null) {
+                glyph = new BufferedImage(this.cellSize, this.cellSize, BufferedImage.TYPE_INT_RGB);
+                Graphics2D g = glyph.createGraphics();
+
+                // Translucent cells are blended with the gridlines, as they
+                // are when painted without text
+                g.setColor(getBackground());
+                g.fillRect(0, 0, this.cellSize, this.cellSize);
+                g.setColor(color);
+                g.fillRect(0, 0, this.cellSize, this.cellSize);
+
+                g.setColor(textColor);
+                g.setFont(this.font);
+                FontMetrics metrics = g.getFontMetrics(this.font);
+                int xPos = (this.cellSize - metrics.stringWidth("" + c)) / 2;
+                int yPos = ((this.cellSize - metrics.getHeight()) / 2) + metrics.getAscent();
+                g.drawString("" + c, xPos, yPos);
+                g.dispose();
+                this.glyphs.put(new ValueData(color, textColor, c), glyph);
+            }
+            return glyph;
         }
 
         /**
@@ -823,10 +1179,20 @@ public class SimpleGrid {
          * instead.
          */
         public Point getMouseCell() {
-            Point pos = getMousePosition();
+            return getCell(getMousePosition());
+        }
 
-            // Case 1: Mouse is out of the window
-            if (pos == null) {
+        /**
+         * Returns the grid position of a point on the panel.
+         *
+         * @param pos The pixel coordinates of the point.
+         * @return The xy-coordinates of the cell the point is in. If the point
+         * is null, out-of-bounds, or on gridlines, returns null instead.
+         * @since 1.2.15
+         */
+        public Point getCell(Point pos) {
+            // Case 1: Point is outside of the grid
+            if (pos == null || pos.x < 0 || pos.y < 0) {
                 return null;
             } else {
                 // Grid cell coordinates
@@ -836,11 +1202,11 @@ public class SimpleGrid {
                 int cellX = pos.x % (this.cellSize + this.gridlineWeight);
                 int cellY = pos.y % (this.cellSize + this.gridlineWeight);
 
-                // Case 2: Mouse is inside cell
-                if (cellX > this.gridlineWeight && cellY > this.gridlineWeight) {
+                // Case 2: Point is inside cell
+                if (cellX >= this.gridlineWeight && cellY >= this.gridlineWeight && !isOOB(x, y)) {
                     return new Point(x, y);
                 } else {
-                    // Case 3: Mouse is on gridline
+                    // Case 3: Point is on gridline or past the last cell
                     return null;
                 }
             }
@@ -1,5 +1,3 @@
-import java.awt.Point;
-
 /**
  * A* Search Algorithm with a more weighted heuristic.
  */
@@ -13,18 +11,20 @@ public class StrongAStar extends AStar {
      * Returns the Manhattan distance between the given points, multiplied by the class weight
      * multiplier.
      *
-     * @param p1 First point of the point pair to calculate the heuristic of.
-     * @param p2 Second point of the point pair to calculate the heuristic of.
+     * @param x1 The x-coordinate of the first point of the pair to calculate the heuristic of.
+     * @param y1 The y-coordinate of the first point of the pair to calculate the heuristic of.
+     * @param x2 The x-coordinate of the second point of the pair to calculate the heuristic of.
+     * @param y2 The y-coordinate of the second point of the pair to calculate the heuristic of.
      * @return The Manhattan distance between the two points, multiplied by the class weight
      * multiplier.
      */
     @Override
-    public double calcHeuristic(Point p1, Point p2) {
+    public double calcHeuristic(int x1, int y1, int x2, int y2) {
         // This heuristic overestimates, making it no longer an "admissible heuristic."
         // It is therefore not guaranteed to find the optimal path.
         // As a tradeoff to this sacrifice is that this version of A* may find a path
         // faster in certain cases.
-        return WEIGHT * (Math.abs(p1.x - p2.x) + Math.abs(p1.y - p2.y));
+        return WEIGHT * (Math.abs(x1 - x2) + Math.abs(y1 - y2));
     }
 
     @Override
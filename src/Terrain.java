@@ -0,0 +1,242 @@
+import java.awt.Point;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * The cells of a single grid, along with its start and target points, without anything needed to
+ * display it. Cells hold the same values as the cells of the grid in {@link Main}.
+ *
+ * @since v1.5.19
+ */
+public class Terrain {
+    private final int width;
+    private final int height;
+    private final int[] values;
+    private Point start;
+    private Point target;
+
+    /**
+     * Creates a new terrain with every cell empty. The start point is placed at 25% of the width,
+     * and the target at 75%, both centered vertically.
+     *
+     * @param width  The width of the terrain in cells.
+     * @param height The height of the terrain in cells.
+     * @throws IllegalArgumentException If the dimensions are not positive.
+     */
+    public Terrain(int width, int height) {
+        if (width <= 0 || height <= 0) {
+            throw new IllegalArgumentException("Terrain dimensions must be positive.");
+        }
+        this.width = width;
+        this.height = height;
+        this.values = new int[width * height];
+        Arrays.fill(this.values, Main.EMPTY);
+        setStart(width / 4, height / 2);
+        setTarget(width * 3 / 4, height / 2);
+    }
+
+    /**
+     * Returns the width of the terrain in number of cells.
+     *
+     * @return Number of cells wide the terrain is.
+     */
+    public int getWidth() {
+        return this.width;
+    }
+
+    /**
+     * Returns the height of the terrain in number of cells.
+     *
+     * @return Number of cells high the terrain is.
+     */
+    public int getHeight() {
+        return this.height;
+    }
+
+    /**
+     * Returns the value of a cell. Cells outside of the terrain are treated as background.
+     *
+     * @param x The x-coordinate of the cell.
+     * @param y The y-coordinate of the cell.
+     * @return The value of the cell, or BG if it is outside of the terrain.
+     */
+    public int get(int x, int y) {
+        if (x < 0 || y < 0 || x >= this.width || y >= this.height) {
+            return Main.BG;
+        }
+        return this.values[y * this.width + x];
+    }
+
+    /**
+     * Sets the value of a cell.
+     *
+     * @param x     The x-coordinate of the cell.
+     * @param y     The y-coordinate of the cell.
+     * @param value The value to set the cell to.
+     */
+    public void set(int x, int y, int value) {
+        this.values[y * this.width + x] = value;
+    }
+
+    /**
+     * Sets every cell to a value.
+     *
+     * @param value The value to set every cell to.
+     */
+    public void fill(int value) {
+        Arrays.fill(this.values, value);
+    }
+
+    /**
+     * Returns the start point.
+     *
+     * @return The start point.
+     */
+    public Point getStart() {
+        return new Point(this.start);
+    }
+
+    /**
+     * Moves the start point, overwriting the cell it is moved onto. The cell it is moved off of
+     * keeps the START value until it is overwritten.
+     *
+     * @param x The new x-coordinate of the start point.
+     * @param y The new y-coordinate of the start point.
+     */
+    public void setStart(int x, int y) {
+        this.start = new Point(x, y);
+        set(x, y, Main.START);
+    }
+
+    /**
+     * Returns the target point.
+     *
+     * @return The target point.
+     */
+    public Point getTarget() {
+        return new Point(this.target);
+    }
+
+    /**
+     * Moves the target point, overwriting the cell it is moved onto. The cell it is moved off of
+     * keeps the TARGET value until it is overwritten.
+     *
+     * @param x The new x-coordinate of the target point.
+     * @param y The new y-coordinate of the target point.
+     */
+    public void setTarget(int x, int y) {
+        this.target = new Point(x, y);
+        set(x, y, Main.TARGET);
+    }
+
+    /**
+     * Returns a snapshot of the traversal costs of the terrain.
+     *
+     * @param version The version of the terrain to give the snapshot.
+     * @return A graph of the terrain.
+     */
+    public GridGraph toGraph(int version) {
+        byte[] costs = new byte[this.values.length];
+        for (int i = 0; i < costs.length; i++) {
+            costs[i] = (byte) Main.costOf(this.values[i]);
+        }
+        return new GridGraph(this.width, this.height, costs, version);
+    }
+
+    /**
+     * Carves a maze out of walls, starting from the given cell. Only walls are carved, so the
+     * terrain should be filled with walls first. The created maze will have no cycles.
+     * <p>
+     * Tunnels are dug depth first, using an explicit stack so that large mazes can't overflow the
+     * call stack.
+     *
+     * @param x    The x-coordinate to generate the maze from.
+     * @param y    The y-coordinate to generate the maze from.
+     * @param rand The source of randomness used to generate the maze.
+     */
+    public void generateMaze(int x, int y, Random rand) {
+        if (get(x, y) != Main.WALL) {
+            return;
+        }
+
+        Deque<MazeCell> stack = new ArrayDeque<>();
+        stack.push(carve(x, y, rand));
+        while (!stack.isEmpty()) {
+            MazeCell cell = stack.peek();
+            if (cell.nextDirection == cell.directions.size()) {
+                stack.pop();
+                continue;
+            }
+
+            Point direction = cell.directions.get(cell.nextDirection++);
+            int x1 = cell.x + direction.x;
+            int y1 = cell.y + direction.y;
+            int x2 = x1 + direction.x;
+            int y2 = y1 + direction.y;
+            if (get(x1, y1) == Main.WALL && get(x2, y2) == Main.WALL) {
+                set(x1, y1, Main.EMPTY);
+                stack.push(carve(x2, y2, rand));
+            }
+        }
+    }
+
+    /**
+     * Clears a cell of the maze and picks the order to tunnel out of it in.
+     *
+     * @param x    The x-coordinate of the cell.
+     * @param y    The y-coordinate of the cell.
+     * @param rand The source of randomness used to generate the maze.
+     * @return The cell, ready to tunnel out of.
+     */
+    private MazeCell carve(int x, int y, Random rand) {
+        set(x, y, Main.EMPTY);
+
+        List<Point> directions = new ArrayList<>();
+        directions.add(new Point(1, 0));
+        directions.add(new Point(-1, 0));
+        directions.add(new Point(0, 1));
+        directions.add(new Point(0, -1));
+        Collections.shuffle(directions, rand);
+        return new MazeCell(x, y, directions);
+    }
+
+    /**
+     * Replaces the walls with randomly weighted cells.
+     *
+     * @param min  The minimum cell weight that can be randomly assigned.
+     * @param rand The source of randomness used to pick weights.
+     */
+    public void randomlyWeightWalls(int min, Random rand) {
+        min--;
+        for (int x = 0; x < this.width; x++) {
+            for (int y = 0; y < this.height; y++) {
+                if (get(x, y) == Main.WALL) {
+                    int randomWeight = Main.WEIGHTED + 1 + (int) (min + (Main.MAX_COST - 1 - min) * rand.nextDouble());
+                    set(x, y, randomWeight);
+                }
+            }
+        }
+    }
+
+    /**
+     * A cell of a maze being generated, and the directions left to tunnel out of it in.
+     */
+    private static class MazeCell {
+        public final int x;
+        public final int y;
+        public final List<Point> directions;
+        public int nextDirection;
+
+        public MazeCell(int x, int y, List<Point> directions) {
+            this.x = x;
+            this.y = y;
+            this.directions = directions;
+            this.nextDirection = 0;
+        }
+    }
+}
@@ -0,0 +1,15 @@
+/**
+ * Listener that is notified when cells of the terrain being displayed change, so that data
+ * derived from the terrain can be updated locally instead of being rebuilt from scratch.
+ *
+ * @since v1.5.13
+ */
+public interface TerrainListener {
+    /**
+     * Called after the cell at the given coordinates has changed.
+     *
+     * @param x The x-coordinate of the changed cell.
+     * @param y The y-coordinate of the changed cell.
+     */
+    void cellChanged(int x, int y);
+}